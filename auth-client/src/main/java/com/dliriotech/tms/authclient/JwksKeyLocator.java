@@ -0,0 +1,174 @@
+package com.dliriotech.tms.authclient;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Claves de verificación publicadas por auth-service en /.well-known/jwks.json, elegidas por el kid de cada token.
+ * El JWKS se descarga al arrancar y cada refreshInterval en un hilo propio; un kid desconocido (una clave recién
+ * rotada) adelanta la descarga, como mucho una vez cada {@link #MIN_FORCED_REFRESH_INTERVAL}. Los tokens HS256 sin
+ * kid se verifican con el secreto compartido, si se configura. Sin jwksUri solo se aceptan esos tokens.
+ * <p>
+ * La descarga la hace jwksFetcher, así que no depende de WebFlux: {@link #httpClientFetcher(Duration)} usa el
+ * cliente HTTP de la JDK y la autoconfiguración, el WebClient del servicio.
+ */
+@Slf4j
+public class JwksKeyLocator extends LocatorAdapter<Key> implements AutoCloseable {
+
+    static final Duration MIN_FORCED_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final Function<URI, String> jwksFetcher;
+    private final URI jwksUri;
+    private final SecretKey hmacKey;
+    private final Duration refreshInterval;
+    private final AtomicLong lastForcedRefresh;
+
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile ScheduledExecutorService refreshes;
+
+    /**
+     * @param jwksFetcher descarga bloqueante del JWKS; se llama desde start y desde el hilo de recarga
+     * @param hmacKey     secreto HS256 compartido para los tokens sin kid; null si no se aceptan
+     */
+    public JwksKeyLocator(Function<URI, String> jwksFetcher, URI jwksUri, SecretKey hmacKey, Duration refreshInterval) {
+        this.jwksFetcher = jwksFetcher;
+        this.jwksUri = jwksUri;
+        this.hmacKey = hmacKey;
+        this.refreshInterval = refreshInterval;
+        this.lastForcedRefresh = new AtomicLong(System.nanoTime() - MIN_FORCED_REFRESH_INTERVAL.toNanos());
+    }
+
+    /**
+     * Descarga con el cliente HTTP de la JDK; timeout acota tanto la conexión como la respuesta
+     */
+    public static Function<URI, String> httpClientFetcher(Duration timeout) {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        return uri -> {
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(timeout)
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("HTTP " + response.statusCode() + " al descargar el JWKS");
+                }
+                return response.body();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Descarga del JWKS interrumpida", e);
+            }
+        };
+    }
+
+    /**
+     * Primera carga, bloqueante para no rechazar tokens válidos mientras llega el JWKS, y recargas periódicas.
+     * Si la primera carga falla se reintenta en la siguiente recarga o con el primer kid desconocido
+     */
+    public void start() {
+        if (jwksUri == null) {
+            return;
+        }
+        refreshes = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo cargar el JWKS de {}: {}", jwksUri, e.toString());
+        }
+        refreshes.scheduleWithFixedDelay(this::refreshQuietly, refreshInterval.toNanos(), refreshInterval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    public void refresh() {
+        Map<String, Key> loaded = parse(jwksFetcher.apply(jwksUri));
+        keys = loaded;
+        log.info("JWKS cargado de {} con {} claves", jwksUri, loaded.size());
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        Key key = keyId == null ? hmacKey : keys.get(keyId);
+        if (key == null) {
+            if (keyId != null) {
+                refreshSoon();
+            }
+            throw new InvalidKeyException("Clave de firma desconocida: " + keyId);
+        }
+        return key;
+    }
+
+    @Override
+    public void close() {
+        if (refreshes != null) {
+            refreshes.shutdownNow();
+        }
+    }
+
+    static Map<String, Key> parse(String json) {
+        JwkSet jwkSet = Jwks.setParser()
+                .json(new JacksonDeserializer<>())
+                .build()
+                .parse(json);
+        Map<String, Key> loaded = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk.getId() != null) {
+                loaded.put(jwk.getId(), jwk.toKey());
+            }
+        }
+        return Map.copyOf(loaded);
+    }
+
+    private void refreshSoon() {
+        ScheduledExecutorService executor = refreshes;
+        long now = System.nanoTime();
+        long last = lastForcedRefresh.get();
+        if (executor != null && now - last >= MIN_FORCED_REFRESH_INTERVAL.toNanos()
+                && lastForcedRefresh.compareAndSet(last, now)) {
+            try {
+                executor.execute(this::refreshQuietly);
+            } catch (RejectedExecutionException e) {
+                // Cerrado: ya no se recarga
+            }
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo recargar el JWKS de {}: {}", jwksUri, e.toString());
+        }
+    }
+}
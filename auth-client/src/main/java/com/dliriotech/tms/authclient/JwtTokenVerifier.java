@@ -0,0 +1,58 @@
+package com.dliriotech.tms.authclient;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.security.SecurityException;
+
+import java.security.Key;
+
+/**
+ * Verifica la firma y la expiración de un token de auth-service y devuelve sus claims en una sola pasada. Es
+ * inmutable y thread-safe: se construye una vez y se comparte.
+ */
+public class JwtTokenVerifier {
+
+    private final JwtParser parser;
+
+    /**
+     * @param keyLocator clave de verificación según la cabecera del token (kid); ver {@link JwksKeyLocator}
+     */
+    public JwtTokenVerifier(Locator<Key> keyLocator) {
+        // El deserializador se fija explícitamente para que jjwt no lo busque con ServiceLoader (E/S de disco)
+        this.parser = Jwts.parser()
+                .json(new JacksonDeserializer<>())
+                .keyLocator(keyLocator)
+                .build();
+    }
+
+    /**
+     * @throws TokenVerificationException si el token está expirado, mal formado o su firma no es válida
+     */
+    public TokenClaims verify(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            throw new TokenVerificationException("Token expirado");
+        } catch (SecurityException e) {
+            throw new TokenVerificationException("Firma del token inválida");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new TokenVerificationException("Token mal formado");
+        }
+
+        Integer empresaId = claims.get(TokenClaimNames.EMPRESA_ID, Integer.class);
+        return new TokenClaims(
+                claims.get(TokenClaimNames.USER_ID, Integer.class),
+                claims.getSubject(),
+                claims.get(TokenClaimNames.ROLE, String.class),
+                empresaId,
+                empresaId != null ? TokenType.ACCESS : TokenType.REFRESH,
+                claims.getExpiration().toInstant(),
+                claims.getId());
+    }
+}
@@ -0,0 +1,14 @@
+package com.dliriotech.tms.authclient;
+
+/**
+ * Nombres de los claims propios de los tokens de auth-service; los usan tanto quien firma como quien verifica.
+ */
+public final class TokenClaimNames {
+
+    public static final String USER_ID = "id";
+    public static final String ROLE = "role";
+    public static final String EMPRESA_ID = "id_empresa";
+
+    private TokenClaimNames() {
+    }
+}
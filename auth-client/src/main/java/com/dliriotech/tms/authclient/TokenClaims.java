@@ -0,0 +1,23 @@
+package com.dliriotech.tms.authclient;
+
+import java.time.Instant;
+
+/**
+ * Vista inmutable de los claims de un token ya verificado.
+ */
+public record TokenClaims(Integer userId,
+                          String subject,
+                          String role,
+                          Integer empresaId,
+                          TokenType type,
+                          Instant expiresAt,
+                          String tokenId) {
+
+    public boolean hasEmpresa() {
+        return empresaId != null;
+    }
+
+    public boolean isRefreshToken() {
+        return type == TokenType.REFRESH;
+    }
+}
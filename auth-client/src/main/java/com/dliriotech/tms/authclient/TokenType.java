@@ -0,0 +1,13 @@
+package com.dliriotech.tms.authclient;
+
+public enum TokenType {
+    /**
+     * Token de acceso emitido para una empresa (lleva el claim id_empresa)
+     */
+    ACCESS,
+
+    /**
+     * Token de refresco, sin empresa asociada
+     */
+    REFRESH
+}
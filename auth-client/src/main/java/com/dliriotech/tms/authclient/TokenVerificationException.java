@@ -0,0 +1,11 @@
+package com.dliriotech.tms.authclient;
+
+/**
+ * El token no se puede aceptar: expirado, mal formado, con firma inválida o firmado con una clave desconocida.
+ */
+public class TokenVerificationException extends RuntimeException {
+
+    public TokenVerificationException(String message) {
+        super(message);
+    }
+}
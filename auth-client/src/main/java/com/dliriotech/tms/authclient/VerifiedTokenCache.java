@@ -0,0 +1,65 @@
+package com.dliriotech.tms.authclient;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tokens ya verificados, para no repetir la comprobación de firma en cada solicitud de un mismo cliente. Cada
+ * entrada caduca cuando expira su token y el número de entradas está acotado; los tokens rechazados no se guardan.
+ * <p>
+ * Como cualquier verificación local, no ve las revocaciones: un token revocado se acepta hasta que expira. Para
+ * tenerlas en cuenta, consultar POST /api/auth/introspect, que no se cachea (el GET puede servirse de la caché del
+ * cliente hasta jwt.introspection.max-age).
+ */
+public class VerifiedTokenCache {
+
+    private final JwtTokenVerifier verifier;
+    private final Cache<String, TokenClaims> cache;
+
+    public VerifiedTokenCache(JwtTokenVerifier verifier, long maximumSize) {
+        this(verifier, maximumSize, Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(JwtTokenVerifier verifier, long maximumSize, Ticker ticker) {
+        this.verifier = verifier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @throws TokenVerificationException si el token está expirado, mal formado o su firma no es válida
+     */
+    public TokenClaims verify(String token) {
+        return cache.get(token, verifier::verify);
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
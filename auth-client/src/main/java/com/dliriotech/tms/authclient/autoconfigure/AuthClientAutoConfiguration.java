@@ -0,0 +1,77 @@
+package com.dliriotech.tms.authclient.autoconfigure;
+
+import com.dliriotech.tms.authclient.JwksKeyLocator;
+import com.dliriotech.tms.authclient.JwtTokenVerifier;
+import com.dliriotech.tms.authclient.VerifiedTokenCache;
+import com.dliriotech.tms.authclient.web.TokenAuthenticationWebFilter;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import javax.crypto.SecretKey;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Verificación local de los tokens de auth-service en los servicios que la consumen. Solo se activa con
+ * tms.auth.client.enabled=true, así que no interfiere con auth-service, que también depende de esta librería.
+ */
+@AutoConfiguration
+@ConditionalOnClass(WebClient.class)
+@ConditionalOnProperty(prefix = "tms.auth.client", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AuthClientProperties.class)
+public class AuthClientAutoConfiguration {
+
+    private static final Duration JWKS_FETCH_TIMEOUT = Duration.ofSeconds(10);
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public JwksKeyLocator jwksKeyLocator(AuthClientProperties properties,
+                                         ObjectProvider<WebClient.Builder> webClientBuilder) {
+        if (!StringUtils.hasText(properties.getJwksUri()) && !StringUtils.hasText(properties.getSecret())) {
+            throw new IllegalStateException("Se requiere tms.auth.client.jwks-uri o tms.auth.client.secret");
+        }
+        SecretKey hmacKey = StringUtils.hasText(properties.getSecret())
+                ? Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8))
+                : null;
+        URI jwksUri = StringUtils.hasText(properties.getJwksUri()) ? URI.create(properties.getJwksUri()) : null;
+        return new JwksKeyLocator(webClientFetcher(webClientBuilder.getIfAvailable(WebClient::builder).build()),
+                jwksUri, hmacKey, properties.getJwksRefreshInterval());
+    }
+
+    /**
+     * Descarga el JWKS con el WebClient del servicio, para que se apliquen sus ajustes (proxy, TLS, trazas). Se
+     * llama desde el arranque y desde el hilo de recarga del locator, nunca desde un hilo de Reactor
+     */
+    private static Function<URI, String> webClientFetcher(WebClient webClient) {
+        return uri -> webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block(JWKS_FETCH_TIMEOUT);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public VerifiedTokenCache verifiedTokenCache(JwksKeyLocator jwksKeyLocator, AuthClientProperties properties) {
+        return new VerifiedTokenCache(new JwtTokenVerifier(jwksKeyLocator), properties.getCacheMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public TokenAuthenticationWebFilter tokenAuthenticationWebFilter(VerifiedTokenCache verifiedTokenCache,
+                                                                     AuthClientProperties properties) {
+        return new TokenAuthenticationWebFilter(verifiedTokenCache, properties.getExcludedPaths());
+    }
+}
@@ -0,0 +1,43 @@
+package com.dliriotech.tms.authclient.autoconfigure;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "tms.auth.client")
+public class AuthClientProperties {
+
+    /**
+     * Activa la verificación local de tokens y el filtro WebFlux
+     */
+    private boolean enabled = false;
+
+    /**
+     * JWKS de auth-service, p. ej. http://auth-service:8081/.well-known/jwks.json
+     */
+    private String jwksUri;
+
+    /**
+     * Secreto HS256 compartido (jwt.secret de auth-service), para los tokens firmados sin kid
+     */
+    private String secret;
+
+    /**
+     * Cada cuánto se vuelve a descargar el JWKS
+     */
+    private Duration jwksRefreshInterval = Duration.ofMinutes(10);
+
+    /**
+     * Tokens verificados que se guardan como máximo; cada uno ocupa aproximadamente lo que mide el token
+     */
+    private long cacheMaxSize = 10_000;
+
+    /**
+     * Rutas que no exigen token
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**"));
+}
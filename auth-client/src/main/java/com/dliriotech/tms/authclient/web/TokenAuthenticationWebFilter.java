@@ -0,0 +1,83 @@
+package com.dliriotech.tms.authclient.web;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authclient.TokenVerificationException;
+import com.dliriotech.tms.authclient.VerifiedTokenCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+
+/**
+ * Exige un token de acceso válido de auth-service en la cabecera Authorization, verificado en el propio proceso y
+ * sin llamar al servicio. Los claims quedan en el atributo {@link #CLAIMS_ATTRIBUTE} del intercambio y en el
+ * contexto de Reactor ({@link #currentClaims()}). Sin token, o con uno inválido o de refresco, responde 401.
+ */
+@Slf4j
+public class TokenAuthenticationWebFilter implements WebFilter {
+
+    public static final String CLAIMS_ATTRIBUTE = TokenClaims.class.getName();
+    private static final String BEARER = "Bearer ";
+
+    private final VerifiedTokenCache tokenCache;
+    private final List<PathPattern> excludedPaths;
+
+    public TokenAuthenticationWebFilter(VerifiedTokenCache tokenCache, List<String> excludedPaths) {
+        this.tokenCache = tokenCache;
+        this.excludedPaths = excludedPaths.stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        if (excludedPaths.stream().anyMatch(pattern -> pattern.matches(path))) {
+            return chain.filter(exchange);
+        }
+
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return unauthorized(exchange, "Bearer");
+        }
+
+        TokenClaims claims;
+        try {
+            claims = tokenCache.verify(header.substring(BEARER.length()).trim());
+        } catch (TokenVerificationException e) {
+            log.debug("Token rechazado en {}: {}", path, e.getMessage());
+            return unauthorized(exchange, "Bearer error=\"invalid_token\"");
+        }
+        if (claims.isRefreshToken()) {
+            log.debug("Token de refresco rechazado en {}", path);
+            return unauthorized(exchange, "Bearer error=\"invalid_token\"");
+        }
+
+        exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+        return chain.filter(exchange).contextWrite(Context.of(TokenClaims.class, claims));
+    }
+
+    /**
+     * Claims del token de la solicitud en curso, para usarlos en la cadena reactiva del controlador
+     */
+    public static Mono<TokenClaims> currentClaims() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(TokenClaims.class)));
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange, String challenge) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, challenge);
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,139 @@
+package com.dliriotech.tms.authclient;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeyLocatorTest {
+
+    private static final URI JWKS_URI = URI.create("http://auth/.well-known/jwks.json");
+    private static final SecretKey HMAC_KEY =
+            Keys.hmacShaKeyFor("clave-compartida-de-al-menos-32-bytes!!".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void verify_shouldAcceptTokensSignedWithPublishedKeysAndSharedSecret() throws Exception {
+        // Arrange
+        KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        String jwks = "{\"keys\":[" + Jwks.json(Jwks.builder().key(ed.getPublic()).id("ed-1").build()) + "]}";
+        AtomicInteger downloads = new AtomicInteger();
+        JwksKeyLocator locator = new JwksKeyLocator(serving(jwks, downloads, new CountDownLatch(1)), JWKS_URI,
+                HMAC_KEY, Duration.ofMinutes(10));
+        JwtTokenVerifier verifier = new JwtTokenVerifier(locator);
+
+        // Act
+        locator.start();
+        TokenClaims claims = verifier.verify(Jwts.builder()
+                .header().keyId("ed-1").and()
+                .subject("usuario")
+                .claim(TokenClaimNames.USER_ID, 7)
+                .claim(TokenClaimNames.ROLE, "ADMIN")
+                .claim(TokenClaimNames.EMPRESA_ID, 3)
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(ed.getPrivate(), Jwts.SIG.EdDSA)
+                .compact());
+        TokenClaims legacy = verifier.verify(Jwts.builder()
+                .subject("usuario")
+                .claim(TokenClaimNames.USER_ID, 7)
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(HMAC_KEY)
+                .compact());
+        locator.close();
+
+        // Assert
+        assertEquals(7, claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertEquals(3, claims.empresaId());
+        assertEquals(TokenType.ACCESS, claims.type());
+        assertTrue(legacy.isRefreshToken());
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    void verify_whenKeyIdIsUnknown_shouldRejectTokenAndRefreshJwks() throws Exception {
+        // Arrange
+        KeyPair published = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        KeyPair rotated = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        String jwks = "{\"keys\":[" + Jwks.json(Jwks.builder().key(published.getPublic()).id("ed-1").build()) + "]}";
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch twoDownloads = new CountDownLatch(2);
+        JwksKeyLocator locator = new JwksKeyLocator(serving(jwks, downloads, twoDownloads), JWKS_URI,
+                null, Duration.ofMinutes(10));
+        JwtTokenVerifier verifier = new JwtTokenVerifier(locator);
+        locator.start();
+        String token = Jwts.builder()
+                .header().keyId("ed-2").and()
+                .subject("usuario")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(rotated.getPrivate(), Jwts.SIG.EdDSA)
+                .compact();
+
+        // Act & Assert: el segundo rechazo no vuelve a descargar el JWKS
+        TokenVerificationException e = assertThrows(TokenVerificationException.class, () -> verifier.verify(token));
+        assertEquals("Firma del token inválida", e.getMessage());
+        assertThrows(TokenVerificationException.class, () -> verifier.verify(token));
+        assertTrue(twoDownloads.await(5, TimeUnit.SECONDS));
+        locator.close();
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void start_withJdkHttpClient_shouldLoadJwksWithoutWebFlux() throws Exception {
+        // Arrange
+        KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        byte[] jwks = ("{\"keys\":[" + Jwks.json(Jwks.builder().key(ed.getPublic()).id("ed-1").build()) + "]}")
+                .getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            exchange.sendResponseHeaders(200, jwks.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(jwks);
+            }
+        });
+        server.start();
+        URI jwksUri = URI.create("http://localhost:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+        JwksKeyLocator locator = new JwksKeyLocator(JwksKeyLocator.httpClientFetcher(Duration.ofSeconds(5)), jwksUri,
+                null, Duration.ofMinutes(10));
+
+        // Act
+        locator.start();
+        TokenClaims claims = new JwtTokenVerifier(locator).verify(Jwts.builder()
+                .header().keyId("ed-1").and()
+                .subject("usuario")
+                .claim(TokenClaimNames.USER_ID, 7)
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(ed.getPrivate(), Jwts.SIG.EdDSA)
+                .compact());
+        locator.close();
+        server.stop(0);
+
+        // Assert
+        assertEquals(7, claims.userId());
+    }
+
+    private static Function<URI, String> serving(String jwks, AtomicInteger downloads, CountDownLatch latch) {
+        return uri -> {
+            downloads.incrementAndGet();
+            latch.countDown();
+            return jwks;
+        };
+    }
+}
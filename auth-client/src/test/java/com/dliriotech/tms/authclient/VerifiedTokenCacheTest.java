@@ -0,0 +1,57 @@
+package com.dliriotech.tms.authclient;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtTokenVerifier verifier;
+
+    @Test
+    void verify_shouldReuseVerifiedClaimsUntilTheTokenExpires() {
+        // Arrange
+        AtomicLong nanos = new AtomicLong();
+        VerifiedTokenCache cache = new VerifiedTokenCache(verifier, 100, nanos::get);
+        TokenClaims claims = new TokenClaims(7, "usuario", "ADMIN", 3, TokenType.ACCESS,
+                Instant.now().plusSeconds(60), "jti");
+        when(verifier.verify("token")).thenReturn(claims);
+
+        // Act
+        TokenClaims first = cache.verify("token");
+        TokenClaims second = cache.verify("token");
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        TokenClaims afterExpiry = cache.verify("token");
+
+        // Assert
+        assertSame(claims, first);
+        assertSame(claims, second);
+        assertSame(claims, afterExpiry);
+        verify(verifier, times(2)).verify("token");
+    }
+
+    @Test
+    void verify_whenTokenIsRejected_shouldNotCacheTheFailure() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(verifier, 100);
+        when(verifier.verify("falso")).thenThrow(new TokenVerificationException("Token mal formado"));
+
+        // Act & Assert
+        assertThrows(TokenVerificationException.class, () -> cache.verify("falso"));
+        assertThrows(TokenVerificationException.class, () -> cache.verify("falso"));
+        assertEquals(0, cache.estimatedSize());
+        verify(verifier, times(2)).verify("falso");
+    }
+}
@@ -0,0 +1,103 @@
+package com.dliriotech.tms.authclient.web;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authclient.TokenType;
+import com.dliriotech.tms.authclient.TokenVerificationException;
+import com.dliriotech.tms.authclient.VerifiedTokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenAuthenticationWebFilterTest {
+
+    @Mock
+    private VerifiedTokenCache tokenCache;
+
+    private TokenAuthenticationWebFilter filter;
+    private AtomicReference<TokenClaims> seenClaims;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TokenAuthenticationWebFilter(tokenCache, List.of("/actuator/**"));
+        seenClaims = new AtomicReference<>();
+        chain = exchange -> TokenAuthenticationWebFilter.currentClaims()
+                .doOnNext(seenClaims::set)
+                .then(Mono.<Void>empty())
+                .doOnSuccess(v -> exchange.getResponse().setStatusCode(HttpStatus.OK));
+    }
+
+    @Test
+    void filter_withValidAccessToken_shouldExposeClaimsToTheHandler() {
+        // Arrange
+        TokenClaims claims = new TokenClaims(7, "usuario", "ADMIN", 3, TokenType.ACCESS,
+                Instant.now().plusSeconds(60), "jti");
+        when(tokenCache.verify("token")).thenReturn(claims);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/viajes")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        // Act
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Assert
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        assertSame(claims, seenClaims.get());
+        assertSame(claims, exchange.getAttribute(TokenAuthenticationWebFilter.CLAIMS_ATTRIBUTE));
+    }
+
+    @Test
+    void filter_withInvalidOrRefreshToken_shouldRespondUnauthorized() {
+        // Arrange
+        when(tokenCache.verify("invalido")).thenThrow(new TokenVerificationException("Token expirado"));
+        when(tokenCache.verify("refresco")).thenReturn(new TokenClaims(7, "usuario", "ADMIN", null,
+                TokenType.REFRESH, Instant.now().plusSeconds(60), "jti"));
+
+        for (String token : List.of("invalido", "refresco")) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/viajes")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+            // Act
+            StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+            // Assert
+            assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+            assertEquals("Bearer error=\"invalid_token\"",
+                    exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE));
+            assertNull(seenClaims.get());
+        }
+    }
+
+    @Test
+    void filter_withoutTokenOnExcludedPath_shouldNotVerifyAnything() {
+        // Arrange
+        MockServerWebExchange excluded = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+        MockServerWebExchange protectedPath = MockServerWebExchange.from(MockServerHttpRequest.get("/api/viajes"));
+
+        // Act
+        StepVerifier.create(filter.filter(excluded, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(protectedPath, chain)).verifyComplete();
+
+        // Assert
+        assertEquals(HttpStatus.OK, excluded.getResponse().getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, protectedPath.getResponse().getStatusCode());
+        verifyNoInteractions(tokenCache);
+    }
+}
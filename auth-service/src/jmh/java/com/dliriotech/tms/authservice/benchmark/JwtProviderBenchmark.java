@@ -0,0 +1,67 @@
+package com.dliriotech.tms.authservice.benchmark;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de JwtProvider que se ejecutan en cada login, emisión y validación de tokens (HS256).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private AuthUser user;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(JwtKeySet.hmac(Keys.hmacShaKeyFor(
+                "claveSecretaParaBenchmarksDeAlMenos32Caracteres".getBytes(StandardCharsets.UTF_8))));
+        ReflectionTestUtils.setField(jwtProvider, "expirationMs", 3600000L);
+        ReflectionTestUtils.setField(jwtProvider, "refreshExpirationMs", 86400000L);
+
+        user = AuthUser.builder()
+                .id(1)
+                .userName("usuario")
+                .role("ADMIN")
+                .build();
+        accessToken = jwtProvider.createTokenWithEmpresa(user, 1);
+        refreshToken = jwtProvider.createRefreshToken(user);
+    }
+
+    @Benchmark
+    public String createTokenWithEmpresa() {
+        return jwtProvider.createTokenWithEmpresa(user, 1);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return jwtProvider.createRefreshToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims parseAccessToken() {
+        return jwtProvider.parse(accessToken);
+    }
+
+    @Benchmark
+    public TokenClaims parseRefreshToken() {
+        return jwtProvider.parse(refreshToken);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtProvider.validate(accessToken);
+    }
+}
@@ -0,0 +1,66 @@
+package com.dliriotech.tms.authservice.benchmark;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.security.jwt.JwtAlgorithm;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el throughput de firma y verificación entre HS256, RS256 y EdDSA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtSigningBenchmark {
+
+    @Param({"HS256", "RS256", "EdDSA"})
+    public JwtAlgorithm algorithm;
+
+    private JwtProvider jwtProvider;
+    private AuthUser user;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtKeySet keySet;
+        if (algorithm.isAsymmetric()) {
+            KeyPair keyPair = KeyPairGenerator.getInstance(algorithm.getKeyFactoryAlgorithm()).generateKeyPair();
+            keySet = new JwtKeySet(null, "bench", List.of(
+                    new JwtKeySet.KeyEntry("bench", algorithm, keyPair.getPrivate(), keyPair.getPublic())));
+        } else {
+            keySet = JwtKeySet.hmac(Keys.hmacShaKeyFor(
+                    "claveSecretaParaBenchmarksDeAlMenos32Caracteres".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        jwtProvider = new JwtProvider(keySet);
+        ReflectionTestUtils.setField(jwtProvider, "expirationMs", 3600000L);
+        ReflectionTestUtils.setField(jwtProvider, "refreshExpirationMs", 86400000L);
+
+        user = AuthUser.builder()
+                .id(1)
+                .userName("usuario")
+                .role("ADMIN")
+                .build();
+        token = jwtProvider.createTokenWithEmpresa(user, 1);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtProvider.createTokenWithEmpresa(user, 1);
+    }
+
+    @Benchmark
+    public TokenClaims verify() {
+        return jwtProvider.parse(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.dliriotech.tms.authservice.benchmark;
+
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Codificación JSON de la respuesta de login, con una empresa (tokens) o con varias (token de sesión).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginResponseJsonBenchmark {
+
+    private static final ResolvableType TYPE = ResolvableType.forClass(LoginResponse.class);
+
+    @Param({"1", "30"})
+    public int empresas;
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonEncoder encoder;
+    private LoginResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+
+        List<EmpresaInfo> empresaList = IntStream.rangeClosed(1, empresas)
+                .mapToObj(i -> new EmpresaInfo(i, "Empresa de transportes " + i, "empresa" + i + "@correo.com"))
+                .toList();
+        String token = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(180) + "." + "y".repeat(43);
+        response = LoginResponse.builder()
+                .userId(1)
+                .userName("usuario")
+                .role("ADMIN")
+                .empresas(empresaList)
+                .token(empresas == 1 ? token : null)
+                .refreshToken(empresas == 1 ? token : null)
+                .sessionToken(empresas == 1 ? null : UUID.randomUUID().toString())
+                .name("Nombre")
+                .lastName("Apellido")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public DataBuffer webFluxEncoder() {
+        return encoder.encodeValue(response, DefaultDataBufferFactory.sharedInstance, TYPE,
+                MediaType.APPLICATION_JSON, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dliriotech.tms.authservice.benchmark;
+
+import com.dliriotech.tms.authservice.config.RedisConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización de clave y valor que RedisSessionTokenCache realiza en cada store/validate/consume.
+ * "json" es el formato anterior ("session:token:" + UUID en texto y valor con Jackson); "compact" el actual.
+ * Los bytes por clave y por valor se imprimen al terminar cada configuración.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionTokenSerializationBenchmark {
+
+    private static final String JSON_KEY_PREFIX = "session:token:";
+
+    @Param({"json", "compact"})
+    public String format;
+
+    private RedisSerializationContext<String, Integer> context;
+    private String keyPrefix;
+    private String sessionToken;
+    private ByteBuffer serializedValue;
+
+    @Setup
+    public void setUp() {
+        if ("json".equals(format)) {
+            context = RedisSerializationContext.<String, Integer>newSerializationContext(new StringRedisSerializer())
+                    .value(new Jackson2JsonRedisSerializer<>(Integer.class))
+                    .build();
+            keyPrefix = JSON_KEY_PREFIX;
+        } else {
+            context = RedisConfig.sessionTokenSerializationContext();
+            keyPrefix = "";
+        }
+        sessionToken = UUID.randomUUID().toString();
+        serializedValue = context.getValueSerializationPair().write(123456);
+    }
+
+    @TearDown
+    public void report() {
+        System.out.printf("%n[%s] bytes por clave: %d, bytes por valor: %d%n", format,
+                writeKey().remaining(), serializedValue.remaining());
+    }
+
+    @Benchmark
+    public ByteBuffer writeKey() {
+        return context.getKeySerializationPair().write(keyPrefix + sessionToken);
+    }
+
+    @Benchmark
+    public ByteBuffer writeValue() {
+        return context.getValueSerializationPair().write(123456);
+    }
+
+    @Benchmark
+    public Integer readValue() {
+        return context.getValueSerializationPair().read(serializedValue.duplicate());
+    }
+}
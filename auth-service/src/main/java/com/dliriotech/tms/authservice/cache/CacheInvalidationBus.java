@@ -0,0 +1,62 @@
+package com.dliriotech.tms.authservice.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Propaga invalidaciones de cachés locales entre nodos mediante Redis pub/sub.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final List<Disposable> subscriptions = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(ReactiveStringRedisTemplate redisTemplate,
+                                @Value("${cache.invalidation.enabled:true}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+    }
+
+    public Mono<Void> publish(String channel, String message) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.convertAndSend(channel, message)
+                .doOnError(e -> log.error("Error al publicar invalidación {} en {}", message, channel, e))
+                .then();
+    }
+
+    /**
+     * Escucha el canal hasta el cierre de la aplicación, reconectando si Redis no está disponible
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        if (!enabled) {
+            return;
+        }
+        subscriptions.add(redisTemplate.listenToChannel(channel)
+                .doOnNext(message -> handler.accept(message.getMessage()))
+                .doOnError(e -> log.warn("Suscripción a {} interrumpida: {}", channel, e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+        log.info("Escuchando invalidaciones en {}", channel);
+    }
+
+    @PreDestroy
+    public void close() {
+        subscriptions.forEach(Disposable::dispose);
+    }
+}
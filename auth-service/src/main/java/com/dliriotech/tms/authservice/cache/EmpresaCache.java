@@ -0,0 +1,24 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface EmpresaCache {
+    /**
+     * Obtiene la información de las empresas en el mismo orden de los ids, cargando de la base de datos
+     * solo las que no están en caché. Los ids sin empresa asociada se omiten
+     */
+    Mono<List<EmpresaInfo>> getAll(List<Integer> empresaIds);
+
+    /**
+     * Invalida una empresa en este nodo y notifica al resto de nodos
+     */
+    Mono<Void> invalidate(Integer empresaId);
+
+    /**
+     * Invalida todas las empresas en este nodo y notifica al resto de nodos
+     */
+    Mono<Void> invalidateAll();
+}
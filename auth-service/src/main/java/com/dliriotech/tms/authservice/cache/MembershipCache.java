@@ -0,0 +1,29 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface MembershipCache {
+    /**
+     * Obtiene el usuario y sus empresas. Si la empresa no figura y la entrada tiene más antigüedad que el TTL
+     * negativo, se recarga de la base de datos por si la membresía es nueva. Vacío si el usuario no existe
+     */
+    Mono<UserMemberships> get(Integer userId, Integer empresaId);
+
+    /**
+     * Registra las empresas de un usuario ya cargadas (por ejemplo durante el login)
+     */
+    void put(AuthUser user, List<Integer> empresaIds);
+
+    /**
+     * Invalida las membresías del usuario en este nodo y notifica al resto de nodos
+     */
+    Mono<Void> invalidate(Integer userId);
+
+    /**
+     * Invalida todas las membresías en este nodo y notifica al resto de nodos
+     */
+    Mono<Void> invalidateAll();
+}
@@ -0,0 +1,48 @@
+package com.dliriotech.tms.authservice.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtro de Bloom que se reconstruye desde su fuente de datos sin dejar de atender consultas. Mientras se recorre
+ * la fuente, los elementos añadidos se escriben también en el filtro nuevo para no perderlos al sustituirlo.
+ */
+public final class ReloadableBloomFilter {
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter loading;
+
+    public ReloadableBloomFilter(BloomFilter initial) {
+        this.current = initial;
+    }
+
+    public void put(String value) {
+        // Se lee primero el filtro en carga: si ya terminó, current apunta al nuevo
+        BloomFilter next = loading;
+        current.put(value);
+        if (next != null) {
+            next.put(value);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        return current.mightContain(value);
+    }
+
+    public BloomFilter current() {
+        return current;
+    }
+
+    /**
+     * Llena el filtro nuevo con los valores de la fuente y lo pone en uso al terminar; devuelve cuántos cargó
+     */
+    public Mono<Long> reload(BloomFilter fresh, Flux<String> values) {
+        return Mono.defer(() -> {
+            loading = fresh;
+            return values.doOnNext(fresh::put)
+                    .count()
+                    .doOnNext(count -> current = fresh)
+                    .doFinally(signal -> loading = null);
+        });
+    }
+}
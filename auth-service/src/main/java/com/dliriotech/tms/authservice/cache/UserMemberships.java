@@ -0,0 +1,64 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Datos de un usuario necesarios para emitir tokens junto con las empresas a las que pertenece,
+ * guardadas como un arreglo ordenado de enteros.
+ */
+public final class UserMemberships {
+
+    @Getter
+    private final Integer userId;
+    @Getter
+    private final String userName;
+    @Getter
+    private final String role;
+    private final int[] empresaIds;
+    @Getter
+    private final long loadedAtNanos;
+
+    private UserMemberships(Integer userId, String userName, String role, int[] empresaIds) {
+        this.userId = userId;
+        this.userName = userName;
+        this.role = role;
+        this.empresaIds = empresaIds;
+        this.loadedAtNanos = System.nanoTime();
+    }
+
+    public static UserMemberships of(AuthUser user, Collection<Integer> empresaIds) {
+        return new UserMemberships(user.getId(), user.getUserName(), user.getRole(),
+                empresaIds.stream().mapToInt(Integer::intValue).sorted().distinct().toArray());
+    }
+
+    /**
+     * Entrada negativa para un usuario que no existe
+     */
+    public static UserMemberships absent(Integer userId) {
+        return new UserMemberships(userId, null, null, new int[0]);
+    }
+
+    public boolean exists() {
+        return userName != null;
+    }
+
+    public boolean contains(Integer empresaId) {
+        return empresaId != null && Arrays.binarySearch(empresaIds, empresaId) >= 0;
+    }
+
+    public int size() {
+        return empresaIds.length;
+    }
+
+    public AuthUser toUser() {
+        return AuthUser.builder()
+                .id(userId)
+                .userName(userName)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.dliriotech.tms.authservice.cache;
+
+import reactor.core.publisher.Mono;
+
+public interface UserNameFilter {
+    /**
+     * false garantiza que el usuario no existe; true obliga a consultarlo en la base de datos.
+     * Hasta completar la primera carga siempre devuelve true
+     */
+    boolean mightExist(String userName);
+
+    /**
+     * Registra un usuario nuevo en este nodo y lo notifica al resto de nodos
+     */
+    Mono<Void> add(String userName);
+
+    /**
+     * Reconstruye el filtro recorriendo los nombres de auth_user
+     */
+    Mono<Void> rebuild();
+}
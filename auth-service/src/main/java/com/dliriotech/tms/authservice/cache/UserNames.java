@@ -0,0 +1,22 @@
+package com.dliriotech.tms.authservice.cache;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class UserNames {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private UserNames() {
+    }
+
+    /**
+     * Nombre de usuario sin mayúsculas, tildes ni espacios finales, como compara MySQL con sus intercalaciones
+     * _ci/_ai: todos los nombres que MySQL hace coincidir con la misma cuenta dan la misma clave.
+     */
+    public static String normalize(String userName) {
+        String decomposed = Normalizer.normalize(userName, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).stripTrailing();
+    }
+}
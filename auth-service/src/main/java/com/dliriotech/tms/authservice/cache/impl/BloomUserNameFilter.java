@@ -0,0 +1,135 @@
+package com.dliriotech.tms.authservice.cache.impl;
+
+import com.dliriotech.tms.authservice.cache.BloomFilter;
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.ReloadableBloomFilter;
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.cache.UserNames;
+import com.dliriotech.tms.authservice.config.UserNameFilterProperties;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Filtro de Bloom con los nombres de usuario existentes, para rechazar sin consultar MySQL los inicios de sesión
+ * con usuarios que no existen. Se construye recorriendo auth_user al arrancar y periódicamente, y se actualiza
+ * con cada registro en todos los nodos por pub/sub. Las claves pasan por UserNames.normalize: unificar de más solo
+ * produce falsos positivos; unificar de menos rechazaría usuarios existentes.
+ */
+@Component
+@Slf4j
+public class BloomUserNameFilter implements UserNameFilter {
+
+    private final AuthUserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final UserNameFilterProperties properties;
+    private final ReloadableBloomFilter filter;
+    private final Timer rebuildTimer;
+    private final Counter rejected;
+    private final Counter passed;
+
+    private volatile boolean loaded;
+    private Disposable rebuilds;
+
+    public BloomUserNameFilter(AuthUserRepository userRepository,
+                               CacheInvalidationBus invalidationBus,
+                               UserNameFilterProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+        this.filter = new ReloadableBloomFilter(
+                BloomFilter.create(properties.getExpectedUsers(), properties.getFalsePositiveRate()));
+        this.rebuildTimer = Timer.builder("auth.username.filter.rebuild")
+                .description("Duración de la reconstrucción del filtro de nombres de usuario")
+                .register(meterRegistry);
+        Gauge.builder("auth.username.filter.size", filter, f -> f.current().bitCount() / 8.0)
+                .description("Memoria ocupada por el filtro de nombres de usuario")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("auth.username.filter.false.positive.rate", filter, f -> f.current().expectedFalsePositiveRate())
+                .description("Tasa de falsos positivos esperada con la ocupación actual del filtro")
+                .register(meterRegistry);
+        this.rejected = checkCounter(meterRegistry, "rejected");
+        this.passed = checkCounter(meterRegistry, "passed");
+    }
+
+    @Override
+    public boolean mightExist(String userName) {
+        if (!loaded || userName == null) {
+            return true;
+        }
+        boolean mightExist = filter.mightContain(UserNames.normalize(userName));
+        (mightExist ? passed : rejected).increment();
+        return mightExist;
+    }
+
+    @Override
+    public Mono<Void> add(String userName) {
+        filter.put(UserNames.normalize(userName));
+        // El usuario ya está guardado: un fallo al avisar al resto de nodos lo corrige la próxima reconstrucción
+        return invalidationBus.publish(properties.getChannel(), userName)
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return userRepository.count()
+                            .flatMap(count -> filter.reload(
+                                    BloomFilter.create(Math.max(properties.getExpectedUsers(), count * 2),
+                                            properties.getFalsePositiveRate()),
+                                    userRepository.findAllUserNames().map(UserNames::normalize)))
+                            .doOnNext(count -> {
+                                rebuildTimer.record(Duration.ofNanos(System.nanoTime() - start));
+                                loaded = true;
+                                log.info("Filtro de nombres de usuario reconstruido con {} usuarios ({} KB)",
+                                        count, filter.current().bitCount() / 8 / 1024);
+                            });
+                })
+                .then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        invalidationBus.subscribe(properties.getChannel(), userName -> filter.put(UserNames.normalize(userName)));
+        // Mientras no termine la primera carga, mightExist deja pasar todas las consultas a la base de datos
+        rebuilds = Flux.interval(Duration.ZERO, properties.getRebuildInterval(), Schedulers.boundedElastic())
+                .concatMap(tick -> rebuild()
+                        .retryWhen(Retry.backoff(5, Duration.ofSeconds(1)))
+                        .onErrorResume(e -> {
+                            log.warn("No se pudo reconstruir el filtro de nombres de usuario: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (rebuilds != null) {
+            rebuilds.dispose();
+        }
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.username.filter.checks")
+                .description("Consultas al filtro de nombres de usuario en el inicio de sesión")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
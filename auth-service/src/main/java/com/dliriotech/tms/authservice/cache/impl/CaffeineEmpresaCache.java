@@ -0,0 +1,122 @@
+package com.dliriotech.tms.authservice.cache.impl;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.EmpresaCache;
+import com.dliriotech.tms.authservice.config.EmpresaCacheProperties;
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import com.dliriotech.tms.authservice.repository.EmpresaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class CaffeineEmpresaCache implements EmpresaCache {
+
+    static final String INVALIDATE_ALL = "*";
+
+    private final EmpresaRepository empresaRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final EmpresaCacheProperties properties;
+    private final Cache<Integer, EmpresaInfo> cache;
+
+    public CaffeineEmpresaCache(EmpresaRepository empresaRepository,
+                                CacheInvalidationBus invalidationBus,
+                                EmpresaCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.empresaRepository = empresaRepository;
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "empresas");
+    }
+
+    @Override
+    public Mono<List<EmpresaInfo>> getAll(List<Integer> empresaIds) {
+        Map<Integer, EmpresaInfo> cached = cache.getAllPresent(empresaIds);
+        if (cached.size() == empresaIds.size()) {
+            return Mono.just(inOrder(empresaIds, cached));
+        }
+
+        List<Integer> missing = empresaIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        // Las empresas que faltan se cargan en una sola consulta
+        return empresaRepository.findAllById(missing)
+                .map(empresa -> EmpresaInfo.builder()
+                        .id(empresa.getId())
+                        .nombre(empresa.getNombre())
+                        .email(empresa.getEmail())
+                        .build())
+                .doOnNext(empresaInfo -> cache.put(empresaInfo.getId(), empresaInfo))
+                .collectList()
+                .map(loaded -> {
+                    Map<Integer, EmpresaInfo> all = new HashMap<>(cached);
+                    loaded.forEach(empresaInfo -> all.put(empresaInfo.getId(), empresaInfo));
+                    return inOrder(empresaIds, all);
+                })
+                .doOnSuccess(r -> log.debug("Empresas cargadas en caché: {}", missing));
+    }
+
+    @Override
+    public Mono<Void> invalidate(Integer empresaId) {
+        cache.invalidate(empresaId);
+        return publish(String.valueOf(empresaId));
+    }
+
+    @Override
+    public Mono<Void> invalidateAll() {
+        cache.invalidateAll();
+        return publish(INVALIDATE_ALL);
+    }
+
+    private Mono<Void> publish(String message) {
+        return invalidationBus.publish(properties.getInvalidationChannel(), message);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        invalidationBus.subscribe(properties.getInvalidationChannel(), this::onInvalidation);
+    }
+
+    void onInvalidation(String message) {
+        if (INVALIDATE_ALL.equals(message)) {
+            cache.invalidateAll();
+            log.info("Caché de empresas invalidada por completo");
+            return;
+        }
+        try {
+            cache.invalidate(Integer.valueOf(message));
+            log.debug("Empresa {} invalidada en caché", message);
+        } catch (NumberFormatException e) {
+            log.warn("Mensaje de invalidación de empresa ignorado: {}", message);
+        }
+    }
+
+    private static List<EmpresaInfo> inOrder(List<Integer> empresaIds, Map<Integer, EmpresaInfo> empresas) {
+        List<EmpresaInfo> result = new ArrayList<>(empresaIds.size());
+        for (Integer id : empresaIds) {
+            EmpresaInfo empresaInfo = empresas.get(id);
+            if (empresaInfo != null) {
+                result.add(empresaInfo);
+            }
+        }
+        return result;
+    }
+}
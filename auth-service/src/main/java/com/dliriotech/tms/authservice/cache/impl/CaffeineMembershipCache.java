@@ -0,0 +1,141 @@
+package com.dliriotech.tms.authservice.cache.impl;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserMemberships;
+import com.dliriotech.tms.authservice.config.MembershipCacheProperties;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.UserEmpresaRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@Slf4j
+public class CaffeineMembershipCache implements MembershipCache {
+
+    static final String INVALIDATE_ALL = "*";
+
+    private final AuthUserRepository userRepository;
+    private final UserEmpresaRepository userEmpresaRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final MembershipCacheProperties properties;
+    private final AsyncCache<Integer, UserMemberships> cache;
+
+    public CaffeineMembershipCache(AuthUserRepository userRepository,
+                                   UserEmpresaRepository userEmpresaRepository,
+                                   CacheInvalidationBus invalidationBus,
+                                   MembershipCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userEmpresaRepository = userEmpresaRepository;
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new MembershipExpiry(properties.getTtl().toNanos(), properties.getNegativeTtl().toNanos()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberships");
+    }
+
+    @Override
+    public Mono<UserMemberships> get(Integer userId, Integer empresaId) {
+        return load(userId)
+                .flatMap(memberships -> {
+                    if (memberships.contains(empresaId) || !isOlderThanNegativeTtl(memberships)) {
+                        return Mono.just(memberships);
+                    }
+                    // La empresa no figura en una entrada antigua: se recarga por si la membresía es reciente
+                    cache.asMap().remove(userId);
+                    return load(userId);
+                })
+                .filter(UserMemberships::exists);
+    }
+
+    @Override
+    public void put(AuthUser user, List<Integer> empresaIds) {
+        cache.put(user.getId(), CompletableFuture.completedFuture(UserMemberships.of(user, empresaIds)));
+    }
+
+    @Override
+    public Mono<Void> invalidate(Integer userId) {
+        cache.synchronous().invalidate(userId);
+        return invalidationBus.publish(properties.getInvalidationChannel(), String.valueOf(userId));
+    }
+
+    @Override
+    public Mono<Void> invalidateAll() {
+        cache.synchronous().invalidateAll();
+        return invalidationBus.publish(properties.getInvalidationChannel(), INVALIDATE_ALL);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        invalidationBus.subscribe(properties.getInvalidationChannel(), this::onInvalidation);
+    }
+
+    void onInvalidation(String message) {
+        if (INVALIDATE_ALL.equals(message)) {
+            cache.synchronous().invalidateAll();
+            log.info("Caché de membresías invalidada por completo");
+            return;
+        }
+        try {
+            cache.synchronous().invalidate(Integer.valueOf(message));
+            log.debug("Membresías del usuario {} invalidadas en caché", message);
+        } catch (NumberFormatException e) {
+            log.warn("Mensaje de invalidación de membresías ignorado: {}", message);
+        }
+    }
+
+    private Mono<UserMemberships> load(Integer userId) {
+        // Las cargas concurrentes del mismo usuario comparten una sola consulta
+        return Mono.fromFuture(() -> cache.get(userId, (id, executor) -> fetch(id).toFuture()), true);
+    }
+
+    private Mono<UserMemberships> fetch(Integer userId) {
+        return Mono.zip(
+                        userRepository.findById(userId).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        userEmpresaRepository.findByUserId(userId).map(UserEmpresa::getEmpresaId).collectList())
+                .map(tuple -> tuple.getT1()
+                        .map(user -> UserMemberships.of(user, tuple.getT2()))
+                        .orElseGet(() -> UserMemberships.absent(userId)))
+                .doOnSuccess(m -> log.debug("Membresías cargadas para usuario {}: {}", userId, m.size()));
+    }
+
+    private boolean isOlderThanNegativeTtl(UserMemberships memberships) {
+        return System.nanoTime() - memberships.getLoadedAtNanos() > properties.getNegativeTtl().toNanos();
+    }
+
+    private record MembershipExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Integer, UserMemberships> {
+
+        @Override
+        public long expireAfterCreate(Integer userId, UserMemberships memberships, long currentTime) {
+            return memberships.exists() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer userId, UserMemberships memberships, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, memberships, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer userId, UserMemberships memberships, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
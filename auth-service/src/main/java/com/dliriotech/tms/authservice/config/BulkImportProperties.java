@@ -0,0 +1,37 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "users.bulk-import")
+public class BulkImportProperties {
+
+    /**
+     * Filas por solicitud; la primera fila sobrante se rechaza y no se leen las siguientes
+     */
+    private int maxRows = 10_000;
+
+    /**
+     * Usuarios por sentencia INSERT de varias filas
+     */
+    private int batchSize = 200;
+
+    /**
+     * Espera máxima para completar un lote cuando el cliente envía filas lentamente
+     */
+    private Duration batchTimeout = Duration.ofMillis(500);
+
+    /**
+     * Hashes en curso por importación; por defecto la mitad de los núcleos, para dejar el resto del pool de
+     * hashing a los inicios de sesión
+     */
+    private int hashParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Reintentos de un hash rechazado por la cola llena del pool de hashing
+     */
+    private int hashRetries = 5;
+}
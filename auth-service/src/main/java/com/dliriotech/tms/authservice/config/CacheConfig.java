@@ -0,0 +1,10 @@
+package com.dliriotech.tms.authservice.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({EmpresaCacheProperties.class, MembershipCacheProperties.class, SessionCacheProperties.class,
+        UserNameFilterProperties.class})
+public class CacheConfig {
+}
@@ -0,0 +1,16 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "client-address")
+public class ClientAddressProperties {
+
+    /**
+     * true solo si la dirección remota de la petición es la del cliente: sin proxy ni NAT delante, o con
+     * server.forward-headers-strategy tomándola del proxy de confianza. Con false no se aplican los límites por IP,
+     * porque todos los clientes compartirían la dirección del proxy
+     */
+    private boolean trusted = false;
+}
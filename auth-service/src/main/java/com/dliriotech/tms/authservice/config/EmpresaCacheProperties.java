@@ -0,0 +1,26 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cache.empresa")
+public class EmpresaCacheProperties {
+
+    /**
+     * Número máximo de empresas en la caché local de cada nodo
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Tiempo máximo que una empresa permanece en caché sin recargarse
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Canal Redis por el que se notifican las invalidaciones a todos los nodos
+     */
+    private String invalidationChannel = "tms:empresa:invalidate";
+}
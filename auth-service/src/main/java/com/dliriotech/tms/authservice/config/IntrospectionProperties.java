@@ -0,0 +1,17 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.introspection")
+public class IntrospectionProperties {
+
+    /**
+     * Tope del Cache-Control: max-age de una introspección activa por GET, que por lo demás dura lo que le queda al
+     * token. Es también lo máximo que un token revocado puede seguir activo en la caché privada de un cliente
+     */
+    private Duration maxAge = Duration.ofMinutes(5);
+}
@@ -0,0 +1,35 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import com.dliriotech.tms.authservice.security.jwt.PemKeys;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({JwtSigningProperties.class, RevocationProperties.class, IntrospectionProperties.class})
+public class JwtKeyConfig {
+
+    @Bean
+    public JwtKeySet jwtKeySet(@Value("${jwt.secret:}") String secret, JwtSigningProperties properties) {
+        SecretKey hmacKey = secret.isBlank() ? null : Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+
+        List<JwtKeySet.KeyEntry> keys = properties.getKeys().stream()
+                .map(key -> new JwtKeySet.KeyEntry(
+                        key.getId(),
+                        key.getAlgorithm(),
+                        key.getPrivateKey() == null || key.getPrivateKey().isBlank()
+                                ? null
+                                : PemKeys.readPrivateKey(key.getPrivateKey(), key.getAlgorithm()),
+                        PemKeys.readPublicKey(key.getPublicKey(), key.getAlgorithm())))
+                .toList();
+
+        return new JwtKeySet(hmacKey, properties.getActiveKeyId(), keys);
+    }
+}
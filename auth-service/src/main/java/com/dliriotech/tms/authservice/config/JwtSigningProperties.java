@@ -0,0 +1,45 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.security.jwt.JwtAlgorithm;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    /**
+     * Identificador de la clave con la que se firman los tokens nuevos; vacío para firmar con HS256 y jwt.secret
+     */
+    private String activeKeyId;
+
+    /**
+     * Tiempo que los consumidores pueden cachear el JWKS
+     */
+    private Duration jwksMaxAge = Duration.ofHours(1);
+
+    /**
+     * Claves asimétricas publicadas en el JWKS. Durante una rotación conviven varias
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+        private String id;
+        private JwtAlgorithm algorithm = JwtAlgorithm.RS256;
+
+        /**
+         * Clave privada PKCS#8 en PEM; solo necesaria para la clave activa
+         */
+        private String privateKey;
+
+        /**
+         * Clave pública X.509 en PEM
+         */
+        private String publicKey;
+    }
+}
@@ -0,0 +1,61 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "login.throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Ventana deslizante en la que se cuentan los fallos de inicio de sesión
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Espera tras el primer fallo que supera los permitidos; se duplica con cada fallo adicional
+     */
+    private Duration baseDelay = Duration.ofSeconds(1);
+
+    private Duration maxDelay = Duration.ofMinutes(15);
+
+    /**
+     * Fallos por nombre de usuario antes de empezar a esperar
+     */
+    private Limit user = new Limit(3);
+
+    /**
+     * Fallos por IP antes de empezar a esperar; más alto porque una IP puede ser compartida por muchos usuarios
+     */
+    private Limit ip = new Limit(20);
+
+    /**
+     * Número de locks entre los que se reparten los contadores; se redondea a potencia de dos
+     */
+    private int stripes = 64;
+
+    /**
+     * Usuarios e IP distintos que cada nodo recuerda
+     */
+    private long maxTrackedKeys = 100_000;
+
+    /**
+     * Replica los fallos y los inicios de sesión correctos al resto de nodos por Redis pub/sub
+     */
+    private boolean replicate = false;
+
+    private String channel = "tms:login:attempts";
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int freeFailures;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cache.membership")
+public class MembershipCacheProperties {
+
+    /**
+     * Número máximo de usuarios en la caché local de cada nodo
+     */
+    private long maxSize = 100_000;
+
+    /**
+     * Tiempo máximo que una membresía revocada puede seguir aceptándose sin invalidación explícita
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Tiempo durante el que se confía en una respuesta negativa (usuario inexistente o empresa no asignada)
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+
+    /**
+     * Canal Redis por el que se notifican las invalidaciones a todos los nodos
+     */
+    private String invalidationChannel = "tms:membership:invalidate";
+}
@@ -0,0 +1,78 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.dto.AuthResponse;
+import com.dliriotech.tms.authservice.dto.BatchValidationRequest;
+import com.dliriotech.tms.authservice.dto.BatchValidationResponse;
+import com.dliriotech.tms.authservice.dto.BulkRegisterRequest;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import com.dliriotech.tms.authservice.dto.ErrorResponse;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.dto.RegisterRequest;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.dto.TokenValidationResult;
+import com.dliriotech.tms.authservice.dto.UserResponse;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.Empresa;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflexión que la imagen nativa no descubre sola. Los DTO se registran para Jackson aunque no aparezcan en la
+ * firma de un controlador (errores, resultados NDJSON); las entidades las construye y rellena el mapeo de R2DBC;
+ * jjwt-api carga su implementación por nombre de clase. En la JVM estas pistas no tienen ningún efecto.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.AuthServiceRuntimeHints.class)
+@RegisterReflectionForBinding({AuthResponse.class, BatchValidationRequest.class, BatchValidationResponse.class,
+        BulkRegisterRequest.class, BulkRegisterResult.class, EmpresaInfo.class, ErrorResponse.class,
+        LoginRequest.class, LoginResponse.class, RegisterRequest.class, TokenIntrospectionResponse.class,
+        TokenValidationResult.class, UserResponse.class})
+public class NativeHintsConfig {
+
+    // Clases que jjwt-api instancia o invoca con Classes.newInstance/invokeStatic
+    private static final List<String> JJWT_IMPL_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    static class AuthServiceRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : List.of(AuthUser.class, Empresa.class, UserEmpresa.class)) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+            for (String type : JJWT_IMPL_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
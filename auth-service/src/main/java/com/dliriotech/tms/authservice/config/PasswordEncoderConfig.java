@@ -0,0 +1,62 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.security.password.BcryptCostCalibrator;
+import com.dliriotech.tms.authservice.security.password.RehashingBCryptPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties({PasswordHashingProperties.class, BulkImportProperties.class})
+@Slf4j
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        RehashingBCryptPasswordEncoder bcrypt = new RehashingBCryptPasswordEncoder(bcryptStrength(properties.getBcrypt()));
+        encoders.put(BCRYPT, bcrypt);
+        // Argon2 requiere BouncyCastle en el classpath
+        if (ClassUtils.isPresent("org.bouncycastle.crypto.params.Argon2Parameters", getClass().getClassLoader())) {
+            encoders.put(ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        }
+
+        String algorithm = properties.getAlgorithm();
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Algoritmo de hashing no disponible: " + algorithm);
+        }
+
+        // Los hashes se guardan con prefijo {algoritmo}; los heredados sin prefijo son BCrypt
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        log.info("Hashing de contraseñas con {} (coste BCrypt {})", algorithm, bcrypt.getStrength());
+        return encoder;
+    }
+
+    /**
+     * El coste es el fijado en la configuración: si cada nodo calibrase el suyo, nodos con distinto hardware
+     * usarían costes distintos para los mismos usuarios
+     */
+    private static int bcryptStrength(PasswordHashingProperties.Bcrypt bcrypt) {
+        if (bcrypt.isCalibrate()) {
+            int recommended = BcryptCostCalibrator.calibrate(bcrypt.getTargetLatency(), bcrypt.getMinStrength(),
+                    bcrypt.getMaxStrength());
+            if (recommended != bcrypt.getStrength()) {
+                log.warn("Coste BCrypt recomendado para este hardware: {}; se mantiene password.hashing.bcrypt.strength={}",
+                        recommended, bcrypt.getStrength());
+            }
+        }
+        return bcrypt.getStrength();
+    }
+}
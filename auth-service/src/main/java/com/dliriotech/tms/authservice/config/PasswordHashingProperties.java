@@ -0,0 +1,57 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "password.hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Hilos dedicados al cálculo de hashes; por defecto uno por núcleo
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Hashes que pueden esperar en cola antes de rechazar nuevas solicitudes
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Valor de la cabecera Retry-After cuando la cola está llena
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Algoritmo de los hashes nuevos: bcrypt o argon2
+     */
+    private String algorithm = "bcrypt";
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    @Data
+    public static class Bcrypt {
+
+        /**
+         * Coste de los hashes nuevos; debe ser el mismo en todos los nodos
+         */
+        private int strength = 10;
+
+        /**
+         * Mide al arrancar el mayor coste que cabe en targetLatency en este hardware y lo registra en el log como
+         * recomendación para fijar strength; no cambia el coste en uso
+         */
+        private boolean calibrate = false;
+
+        /**
+         * Latencia objetivo por hash usada en la calibración
+         */
+        private Duration targetLatency = Duration.ofMillis(100);
+
+        private int minStrength = 10;
+
+        private int maxStrength = 14;
+    }
+}
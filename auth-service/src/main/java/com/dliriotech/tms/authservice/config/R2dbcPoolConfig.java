@@ -0,0 +1,62 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.metrics.TimedConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Objects;
+
+/**
+ * El pool lo crea Spring Boot a partir de spring.r2dbc.pool; aquí se añade la medición de la espera por conexión
+ * y se abren las conexiones iniciales al arrancar en lugar de con las primeras solicitudes
+ */
+@Configuration(proxyBeanMethods = false)
+@Slf4j
+public class R2dbcPoolConfig {
+
+    @Bean
+    static BeanPostProcessor timedConnectionFactoryPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionPool pool) {
+                    return new TimedConnectionFactory(pool, meterRegistry, beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Con réplica hay dos pools, el del primario y el de la réplica; el ConnectionFactory que enruta no es un pool
+     */
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> connectionPoolWarmUp(ObjectProvider<ConnectionFactory> connectionFactories) {
+        return event -> connectionFactories.orderedStream()
+                .map(R2dbcPoolConfig::unwrapPool)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(pool -> pool.warmup().subscribe(
+                        connections -> log.info("Pool R2DBC precalentado con {} conexiones", connections),
+                        e -> log.warn("No se pudo precalentar el pool R2DBC: {}", e.toString())));
+    }
+
+    private static ConnectionPool unwrapPool(Object connectionFactory) {
+        if (connectionFactory instanceof ConnectionPool pool) {
+            return pool;
+        }
+        if (connectionFactory instanceof Wrapped<?> wrapped) {
+            return unwrapPool(wrapped.unwrap());
+        }
+        return null;
+    }
+}
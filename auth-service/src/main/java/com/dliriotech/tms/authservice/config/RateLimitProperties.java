@@ -0,0 +1,76 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * false deja pasar todas las solicitudes sin consultar Redis
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tiempo máximo de espera a Redis antes de aplicar el límite solo con los contadores de este nodo
+     */
+    private Duration redisTimeout = Duration.ofMillis(100);
+
+    /**
+     * Tokens adicionales que Redis puede reservar para este nodo mientras el cubo esté por encima de la mitad,
+     * para atender las siguientes solicitudes de la misma clave sin volver a Redis. Solo se piden si la clave ya
+     * consultó Redis durante el último leaseTtl
+     */
+    private int leaseSize = 4;
+
+    /**
+     * Tiempo que el nodo conserva los tokens reservados, y en el que una clave debe repetirse para reservar
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * Claves distintas que cada nodo recuerda para reservas y para el límite local sin Redis
+     */
+    private long maxLocalKeys = 100_000;
+
+    /**
+     * Límites por endpoint; un endpoint sin entrada no se limita
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>(Map.of(
+            "login", new Endpoint(new Bandwidth(10, Duration.ofMinutes(1)), new Bandwidth(50, Duration.ofMinutes(1))),
+            "token-generate", new Endpoint(new Bandwidth(20, Duration.ofMinutes(1)), new Bandwidth(100, Duration.ofMinutes(1)))));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Endpoint {
+        /**
+         * Cubo por usuario (nombre de usuario en login, userId en la generación de tokens)
+         */
+        private Bandwidth user;
+
+        /**
+         * Cubo por IP de cliente
+         */
+        private Bandwidth ip;
+    }
+
+    /**
+     * Cubo de tokens de capacity tokens que se rellena de forma continua a razón de capacity por period.
+     * capacity 0 desactiva el cubo
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bandwidth {
+        private int capacity;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,93 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRoutingConnectionFactory;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    static final String REPLICA_CONNECTION_FACTORY = "replicaConnectionFactory";
+
+    /**
+     * Con Spring AOT la condición de RoutingConfiguration se evalúa al compilar. Si db.replica.enabled no coincide
+     * con lo compilado, las lecturas irían al primario mientras ReplicaRouting y auth.db.reads informan de lecturas
+     * en la réplica, o se abriría un pool de réplica sin usarlo: se detiene el arranque
+     */
+    @Bean
+    SmartInitializingSingleton replicaRoutingConsistencyCheck(ReadReplicaProperties properties,
+                                                              ListableBeanFactory beanFactory) {
+        return () -> {
+            boolean routing = beanFactory.containsBean(REPLICA_CONNECTION_FACTORY);
+            if (routing != properties.isEnabled()) {
+                throw new IllegalStateException(String.format(
+                        "db.replica.enabled=%s, pero la aplicación se compiló con Spring AOT y db.replica.enabled=%s. "
+                                + "Recompilar con -Daot.replica.enabled=%s (--build-arg REPLICA_ENABLED=%s en Docker) "
+                                + "o ajustar DB_REPLICA_ENABLED",
+                        properties.isEnabled(), routing, properties.isEnabled(), properties.isEnabled()));
+            }
+        };
+    }
+
+    /**
+     * Con réplica, Spring Boot deja de crear el pool: se crean aquí los dos pools con las opciones de
+     * spring.r2dbc.pool y el ConnectionFactory principal pasa a ser el que enruta entre ambos
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "db.replica", name = "enabled", havingValue = "true")
+    static class RoutingConfiguration {
+
+        @Bean
+        ConnectionFactory primaryConnectionFactory(R2dbcProperties properties) {
+            R2dbcProperties.Pool pool = properties.getPool();
+            return pool("primary", properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                    pool, pool.getInitialSize(), pool.getMaxSize());
+        }
+
+        @Bean(REPLICA_CONNECTION_FACTORY)
+        ConnectionFactory replicaConnectionFactory(R2dbcProperties properties, ReadReplicaProperties replica) {
+            return pool("replica", replica.getUrl(), replica.getUsername(), replica.getPassword(),
+                    properties.getPool(), replica.getInitialSize(), replica.getMaxSize());
+        }
+
+        @Bean
+        @Primary
+        ConnectionFactory connectionFactory(@Qualifier("primaryConnectionFactory") ConnectionFactory primary,
+                                            @Qualifier("replicaConnectionFactory") ConnectionFactory replica) {
+            return new ReplicaRoutingConnectionFactory(primary, replica);
+        }
+
+        private static ConnectionPool pool(String name, String url, String username, String password,
+                                           R2dbcProperties.Pool pool, int initialSize, int maxSize) {
+            PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+            ConnectionFactoryBuilder connectionFactory = ConnectionFactoryBuilder.withUrl(url);
+            map.from(username).to(connectionFactory::username);
+            map.from(password).to(connectionFactory::password);
+            ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory.build())
+                    .name(name)
+                    .initialSize(initialSize)
+                    .maxSize(maxSize);
+            map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+            map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+            map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+            map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+            map.from(pool.getMaxValidationTime()).to(builder::maxValidationTime);
+            map.from(pool.getValidationQuery()).to(builder::validationQuery);
+            map.from(pool.getValidationDepth()).to(builder::validationDepth);
+            return new ConnectionPool(builder.build());
+        }
+    }
+}
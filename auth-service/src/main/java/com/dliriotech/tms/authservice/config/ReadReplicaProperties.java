@@ -0,0 +1,40 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "db.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * Envía las lecturas marcadas con @ReplicaRead a la réplica; desactivado, todo va a spring.r2dbc
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Tamaño del pool de la réplica; el resto de opciones del pool se toman de spring.r2dbc.pool
+     */
+    private int initialSize = 10;
+
+    private int maxSize = 20;
+
+    /**
+     * Tras escribir un usuario, sus lecturas en este nodo van al primario durante este tiempo, mayor que el
+     * retraso de replicación esperado
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    /**
+     * Escrituras recientes recordadas como máximo
+     */
+    private long maxTrackedWrites = 100_000;
+}
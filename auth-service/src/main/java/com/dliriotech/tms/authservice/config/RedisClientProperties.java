@@ -0,0 +1,19 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "redis.client")
+public class RedisClientProperties {
+
+    /**
+     * Comandos que Lettuce puede acumular por conexión (en vuelo o esperando reconexión) antes de rechazar nuevos
+     */
+    private int requestQueueSize = 10_000;
+
+    /**
+     * Rechaza los comandos al momento mientras la conexión está caída en lugar de encolarlos hasta el timeout
+     */
+    private boolean rejectWhenDisconnected = true;
+}
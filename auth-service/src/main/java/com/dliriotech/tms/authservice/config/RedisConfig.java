@@ -0,0 +1,48 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.security.cache.impl.DecimalIntegerRedisSerializer;
+import com.dliriotech.tms.authservice.security.cache.impl.SessionTokenKeySerializer;
+import io.lettuce.core.ClientOptions;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+@Configuration
+@EnableConfigurationProperties(RedisClientProperties.class)
+public class RedisConfig {
+
+    @Bean
+    public ReactiveRedisTemplate<String, Integer> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory) {
+        return new ReactiveRedisTemplate<>(factory, sessionTokenSerializationContext());
+    }
+
+    /**
+     * Lettuce multiplexa todos los comandos reactivos sobre una conexión compartida y los envía en pipeline;
+     * aquí se acota su cola y se evita que acumule comandos mientras Redis no está disponible
+     */
+    @Bean
+    public LettuceClientConfigurationBuilderCustomizer lettuceClientOptionsCustomizer(RedisClientProperties properties) {
+        return builder -> {
+            ClientOptions current = builder.build().getClientOptions().orElseGet(ClientOptions::create);
+            builder.clientOptions(current.mutate()
+                    .requestQueueSize(properties.getRequestQueueSize())
+                    .disconnectedBehavior(properties.isRejectWhenDisconnected()
+                            ? ClientOptions.DisconnectedBehavior.REJECT_COMMANDS
+                            : ClientOptions.DisconnectedBehavior.DEFAULT)
+                    .build());
+        };
+    }
+
+    /**
+     * Serialización de los tokens de sesión; expuesta para medirla en los benchmarks
+     */
+    public static RedisSerializationContext<String, Integer> sessionTokenSerializationContext() {
+        return RedisSerializationContext.<String, Integer>newSerializationContext(new SessionTokenKeySerializer())
+                .value(new DecimalIntegerRedisSerializer())
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jwt.revocation")
+public class RevocationProperties {
+
+    /**
+     * Tokens revocados y aún no expirados que se esperan como máximo; dimensiona el filtro de Bloom de cada nodo
+     */
+    private long expectedRevocations = 100_000;
+
+    /**
+     * Proporción de tokens no revocados que, por falso positivo del filtro, se confirman en Redis
+     */
+    private double falsePositiveRate = 0.001;
+
+    /**
+     * Cada cuánto se reconstruye el filtro desde Redis, para descartar revocaciones expiradas y recuperar
+     * las que no llegaron por pub/sub
+     */
+    private Duration resyncInterval = Duration.ofMinutes(5);
+
+    /**
+     * Tiempo máximo de la confirmación en Redis; si se agota, el token se trata como revocado
+     */
+    private Duration redisTimeout = Duration.ofMillis(200);
+
+    /**
+     * Canal Redis por el que se notifican las revocaciones a todos los nodos
+     */
+    private String channel = "tms:token:revoked";
+}
@@ -0,0 +1,19 @@
+package com.dliriotech.tms.authservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    /**
+     * Firma de tokens: trabajo de CPU que se saca del event loop de Netty. El resto de los flujos
+     * (R2DBC, Redis) es no bloqueante y se queda en el event loop; BCrypt tiene su propio pool.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler tokenSigningScheduler() {
+        return Schedulers.newParallel("token-signing", Schedulers.DEFAULT_POOL_SIZE, true);
+    }
+}
@@ -0,0 +1,21 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cache.session")
+public class SessionCacheProperties {
+
+    /**
+     * Número máximo de tokens de sesión en la copia local de cada nodo
+     */
+    private long maxSize = 100_000;
+
+    /**
+     * Tiempo máximo de espera por cada operación en Redis antes de recurrir a la copia local
+     */
+    private Duration redisTimeout = Duration.ofMillis(200);
+}
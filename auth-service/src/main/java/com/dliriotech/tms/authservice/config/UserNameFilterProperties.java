@@ -0,0 +1,32 @@
+package com.dliriotech.tms.authservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "cache.user-names")
+public class UserNameFilterProperties {
+
+    /**
+     * Usuarios para los que se dimensiona el filtro como mínimo; si hay más, se dimensiona para el doble de los existentes
+     */
+    private long expectedUsers = 100_000;
+
+    /**
+     * Proporción de nombres inexistentes que el filtro deja pasar hasta la base de datos
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Cada cuánto se reconstruye el filtro desde auth_user; acota el tiempo en que un usuario creado fuera
+     * del registro del servicio no puede iniciar sesión
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * Canal Redis por el que se notifican los usuarios registrados a todos los nodos
+     */
+    private String channel = "tms:user:registered";
+}
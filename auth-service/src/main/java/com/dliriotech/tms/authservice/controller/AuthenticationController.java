@@ -0,0 +1,143 @@
+package com.dliriotech.tms.authservice.controller;
+
+import com.dliriotech.tms.authservice.config.IntrospectionProperties;
+import com.dliriotech.tms.authservice.dto.BatchValidationRequest;
+import com.dliriotech.tms.authservice.dto.BatchValidationResponse;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.exception.ValidationException;
+import com.dliriotech.tms.authservice.security.ratelimit.ClientAddress;
+import com.dliriotech.tms.authservice.security.ratelimit.RequestRateLimiter;
+import com.dliriotech.tms.authservice.service.AuthenticationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticationController {
+
+    private final AuthenticationService authenticationService;
+    private final RequestRateLimiter rateLimiter;
+    private final IntrospectionProperties introspectionProperties;
+    private final ClientAddress clientAddress;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request, ServerHttpRequest httpRequest) {
+        log.info("Solicitud de login para usuario: {}", request.getUserName());
+        String clientIp = clientAddress.of(httpRequest);
+        return rateLimiter.acquire("login", request.getUserName(), clientIp)
+                .flatMap(limit -> authenticationService.login(request, clientIp)
+                        .map(response -> ResponseEntity.ok().headers(limit::applyTo).body(response)))
+                .doOnError(e -> log.error("Error en login: {}", e.getMessage()));
+    }
+
+    @GetMapping("/validate")
+    public Mono<ResponseEntity<Boolean>> validateToken(@RequestHeader("Authorization") String authHeader) {
+        String token = authHeader.replace("Bearer ", "");
+        log.info("Validando token");
+        return authenticationService.validateToken(token)
+                .map(isValid -> {
+                    log.info("Resultado de validación: {}", isValid);
+                    return ResponseEntity.ok(isValid);
+                })
+                .doOnError(e -> log.error("Error validando token: {}", e.getMessage()));
+    }
+
+    @PostMapping("/validate/batch")
+    public Mono<ResponseEntity<BatchValidationResponse>> validateTokens(@RequestBody BatchValidationRequest request) {
+        log.info("Validando lote de {} tokens", request.getTokens() == null ? 0 : request.getTokens().size());
+        return authenticationService.validateTokens(request.getTokens())
+                .map(ResponseEntity::ok)
+                .doOnError(e -> log.error("Error validando lote de tokens: {}", e.getMessage()));
+    }
+
+    /**
+     * Introspección con el token en la cabecera Authorization. La respuesta activa se puede cachear en la caché
+     * privada del cliente, por token, hasta que el token expire con el tope de jwt.introspection.max-age, que es lo
+     * que puede tardar en verse una revocación; con If-None-Match responde 304 sin cuerpo
+     */
+    @GetMapping("/introspect")
+    public Mono<ResponseEntity<TokenIntrospectionResponse>> introspect(@RequestHeader("Authorization") String authHeader) {
+        return introspectToken(authHeader.replace("Bearer ", ""), true);
+    }
+
+    /**
+     * Introspección según RFC 7662, con el token en el parámetro de formulario token. No se cachea: el token va en
+     * el cuerpo, así que una caché no podría distinguir las respuestas de tokens distintos
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public Mono<ResponseEntity<TokenIntrospectionResponse>> introspect(ServerWebExchange exchange) {
+        return exchange.getFormData()
+                .mapNotNull(form -> form.getFirst("token"))
+                .switchIfEmpty(Mono.error(new ValidationException("Debe enviar el parámetro token")))
+                .flatMap(token -> introspectToken(token, false));
+    }
+
+    private Mono<ResponseEntity<TokenIntrospectionResponse>> introspectToken(String token, boolean cacheable) {
+        return authenticationService.introspect(token)
+                .map(response -> {
+                    Duration maxAge = cacheable && response.isActive()
+                            ? Duration.between(Instant.now(), Instant.ofEpochSecond(response.getExp()))
+                            : Duration.ZERO;
+                    if (maxAge.isNegative() || maxAge.isZero()) {
+                        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+                    }
+                    if (maxAge.compareTo(introspectionProperties.getMaxAge()) > 0) {
+                        maxAge = introspectionProperties.getMaxAge();
+                    }
+                    // Solo en cachés privadas, para que una revocación no quede oculta tras la caché de un gateway,
+                    // y con una entrada por token
+                    return ResponseEntity.ok()
+                            .cacheControl(CacheControl.maxAge(maxAge).cachePrivate())
+                            .varyBy(HttpHeaders.AUTHORIZATION)
+                            .eTag("\"" + Integer.toHexString(Objects.hash(response.getSub(), response.getUserId(),
+                                    response.getRole(), response.getEmpresaId(), response.getExp())) + "\"")
+                            .body(response);
+                })
+                .doOnError(e -> log.error("Error en introspección de token: {}", e.getMessage()));
+    }
+
+    /**
+     * Cierra la sesión del token de la cabecera Authorization; el token de refresco, opcional, va en el parámetro
+     * de formulario refreshToken para que no quede en la URL ni en los logs de acceso
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") String authHeader,
+                                             ServerWebExchange exchange) {
+        String token = authHeader.replace("Bearer ", "");
+        log.info("Solicitud de cierre de sesión");
+        return exchange.getFormData()
+                .flatMap(form -> authenticationService.logout(token, form.getFirst("refreshToken")))
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .doOnError(e -> log.error("Error cerrando sesión: {}", e.getMessage()));
+    }
+
+    /**
+     * Revocación según RFC 7009, con el token en el parámetro de formulario token
+     */
+    @PostMapping(value = "/revoke", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public Mono<ResponseEntity<Void>> revoke(ServerWebExchange exchange) {
+        log.info("Solicitud de revocación de token");
+        return exchange.getFormData()
+                .mapNotNull(form -> form.getFirst("token"))
+                .switchIfEmpty(Mono.error(new ValidationException("Debe enviar el parámetro token")))
+                .flatMap(authenticationService::revoke)
+                .then(Mono.just(ResponseEntity.ok().<Void>build()))
+                .doOnError(e -> log.error("Error revocando token: {}", e.getMessage()));
+    }
+}
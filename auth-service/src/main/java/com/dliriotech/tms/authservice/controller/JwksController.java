@@ -0,0 +1,38 @@
+package com.dliriotech.tms.authservice.controller;
+
+import com.dliriotech.tms.authservice.config.JwtSigningProperties;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import io.jsonwebtoken.security.Jwks;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+
+@RestController
+public class JwksController {
+
+    private final String jwksJson;
+    private final String etag;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtKeySet keySet, JwtSigningProperties properties) {
+        // El conjunto de claves es inmutable durante la vida del proceso: se serializa una sola vez
+        this.jwksJson = keySet.publicJwks().stream()
+                .map(Jwks::json)
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+        this.etag = "\"" + Integer.toHexString(jwksJson.hashCode()) + "\"";
+        this.cacheControl = CacheControl.maxAge(properties.getJwksMaxAge()).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<String>> jwks() {
+        return Mono.just(ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(jwksJson));
+    }
+}
@@ -1,11 +1,13 @@
 package com.dliriotech.tms.authservice.controller;
 
 import com.dliriotech.tms.authservice.dto.AuthResponse;
+import com.dliriotech.tms.authservice.security.ratelimit.ClientAddress;
+import com.dliriotech.tms.authservice.security.ratelimit.RequestRateLimiter;
 import com.dliriotech.tms.authservice.service.TokenService;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -16,16 +18,19 @@ import reactor.core.publisher.Mono;
 public class TokenController {
 
     private final TokenService tokenService;
+    private final RequestRateLimiter rateLimiter;
+    private final ClientAddress clientAddress;
 
-    @RateLimiter(name = "tokengenerator")
     @PostMapping("/generate")
     public Mono<ResponseEntity<AuthResponse>> generateToken(
             @RequestParam Integer userId,
             @RequestParam Integer empresaId,
-            @RequestParam String sessionToken) {
+            @RequestParam String sessionToken,
+            ServerHttpRequest httpRequest) {
         log.info("Generando token para usuario: {} y empresa: {}", userId, empresaId);
-        return tokenService.generateToken(userId, empresaId, sessionToken)
-                .map(ResponseEntity::ok)
+        return rateLimiter.acquire("token-generate", String.valueOf(userId), clientAddress.of(httpRequest))
+                .flatMap(limit -> tokenService.generateToken(userId, empresaId, sessionToken)
+                        .map(response -> ResponseEntity.ok().headers(limit::applyTo).body(response)))
                 .doOnError(e -> log.error("Error generando token: {}", e.getMessage()));
     }
 
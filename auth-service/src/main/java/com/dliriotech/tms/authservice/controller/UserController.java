@@ -1,5 +1,7 @@
 package com.dliriotech.tms.authservice.controller;
 
+import com.dliriotech.tms.authservice.dto.BulkRegisterRequest;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
 import com.dliriotech.tms.authservice.dto.RegisterRequest;
 import com.dliriotech.tms.authservice.dto.UserResponse;
 import com.dliriotech.tms.authservice.service.UserService;
@@ -7,8 +9,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -27,4 +31,15 @@ public class UserController {
                 .map(user -> ResponseEntity.status(HttpStatus.CREATED).body(user))
                 .doOnError(e -> log.error("Error en registro: {}", e.getMessage()));
     }
+
+    /**
+     * Importación masiva en NDJSON: una solicitud de registro por línea y un resultado por línea en la respuesta
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkRegisterResult> registerAll(@RequestBody Flux<BulkRegisterRequest> requests) {
+        log.info("Solicitud de importación masiva de usuarios");
+        return userService.registerAll(requests)
+                .doOnError(e -> log.error("Error en importación masiva: {}", e.getMessage()));
+    }
 }
\ No newline at end of file
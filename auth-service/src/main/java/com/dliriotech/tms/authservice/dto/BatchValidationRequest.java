@@ -0,0 +1,10 @@
+package com.dliriotech.tms.authservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchValidationRequest {
+    private List<String> tokens;
+}
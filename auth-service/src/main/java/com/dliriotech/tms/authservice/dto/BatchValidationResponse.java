@@ -0,0 +1,14 @@
+package com.dliriotech.tms.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class BatchValidationResponse {
+    private List<TokenValidationResult> results;
+}
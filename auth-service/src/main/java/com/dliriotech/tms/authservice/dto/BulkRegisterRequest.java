@@ -0,0 +1,16 @@
+package com.dliriotech.tms.authservice.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Fila de la importación masiva: los datos de registro y, opcionalmente, las empresas del usuario
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkRegisterRequest extends RegisterRequest {
+
+    private List<Integer> empresaIds;
+}
@@ -0,0 +1,22 @@
+package com.dliriotech.tms.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Resultado de una fila de la importación masiva; code y message solo se informan si la fila falló
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRegisterResult {
+    private long line;
+    private String userName;
+    private Integer id;
+    private int status;
+    private String code;
+    private String message;
+}
@@ -0,0 +1,33 @@
+package com.dliriotech.tms.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Respuesta de introspección al estilo de RFC 7662: los claims del token con los mismos nombres que en el JWT y,
+ * si no es válido, solo active=false
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResponse {
+    private boolean active;
+    private String sub;
+    @JsonProperty("id")
+    private Integer userId;
+    private String role;
+    @JsonProperty("id_empresa")
+    private Integer empresaId;
+    /**
+     * Expiración en segundos desde epoch
+     */
+    private Long exp;
+
+    public static TokenIntrospectionResponse inactive() {
+        return TokenIntrospectionResponse.builder().active(false).build();
+    }
+}
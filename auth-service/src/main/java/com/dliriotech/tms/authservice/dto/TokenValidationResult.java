@@ -0,0 +1,22 @@
+package com.dliriotech.tms.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenValidationResult {
+    private boolean valid;
+    private String reason;
+    private Integer userId;
+    private String userName;
+    private String role;
+    private Integer empresaId;
+    private Instant expiresAt;
+}
@@ -1,12 +1,15 @@
 package com.dliriotech.tms.authservice.exception;
 
 import com.dliriotech.tms.authservice.dto.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWebExceptionHandler;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
@@ -15,6 +18,7 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.HashMap;
@@ -27,14 +31,17 @@ import java.util.function.Function;
 class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
 
     private final Map<Class<? extends Throwable>, Function<Throwable, ErrorDetails>> exceptionHandlers;
+    private final MeterRegistry meterRegistry;
 
     public GlobalExceptionHandler(ErrorAttributes errorAttributes,
                                   WebProperties.Resources resources,
                                   ApplicationContext applicationContext,
-                                  ServerCodecConfigurer configurer) {
+                                  ServerCodecConfigurer configurer,
+                                  MeterRegistry meterRegistry) {
         super(errorAttributes, resources, applicationContext);
         this.setMessageWriters(configurer.getWriters());
         this.exceptionHandlers = configureExceptionHandlers();
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -68,6 +75,15 @@ class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
         handlers.put(UnauthorizedException.class, ex ->
                 new ErrorDetails(HttpStatus.FORBIDDEN, "AUTH-006", ex.getMessage()));
 
+        handlers.put(ServiceOverloadedException.class, ex ->
+                new ErrorDetails(HttpStatus.SERVICE_UNAVAILABLE, "AUTH-007", ex.getMessage()));
+
+        handlers.put(RateLimitExceededException.class, ex ->
+                new ErrorDetails(HttpStatus.TOO_MANY_REQUESTS, "AUTH-008", ex.getMessage()));
+
+        handlers.put(LoginThrottledException.class, ex ->
+                new ErrorDetails(HttpStatus.TOO_MANY_REQUESTS, "AUTH-009", ex.getMessage()));
+
         return handlers;
     }
 
@@ -84,6 +100,12 @@ class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
                         "SYS-001",
                         "Error interno del servidor"
                 ));
+        // Mismo código que la etiqueta outcome de auth.stage.duration, para cruzar errores con la etapa que falló
+        Counter.builder("auth.errors")
+                .description("Respuestas de error por código")
+                .tags("code", errorDetails.code(), "status", String.valueOf(errorDetails.status().value()))
+                .register(meterRegistry)
+                .increment();
 
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .code(errorDetails.code())
@@ -94,8 +116,22 @@ class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
 
         return ServerResponse.status(errorDetails.status())
                 .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (error instanceof ServiceOverloadedException overloaded) {
+                        headers.set(HttpHeaders.RETRY_AFTER, retryAfterSeconds(overloaded.getRetryAfter()));
+                    } else if (error instanceof LoginThrottledException throttled) {
+                        headers.set(HttpHeaders.RETRY_AFTER, retryAfterSeconds(throttled.getRetryAfter()));
+                    } else if (error instanceof RateLimitExceededException limited) {
+                        limited.getDecision().applyTo(headers);
+                    }
+                })
                 .body(BodyInserters.fromValue(errorResponse));
     }
 
+    // Redondeo hacia arriba: reintentar antes de tiempo volvería a fallar
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf((retryAfter.toMillis() + 999) / 1000);
+    }
+
     private record ErrorDetails(HttpStatus status, String code, String message) {}
 }
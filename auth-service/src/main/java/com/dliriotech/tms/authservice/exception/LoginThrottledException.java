@@ -0,0 +1,16 @@
+package com.dliriotech.tms.authservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class LoginThrottledException extends BaseException {
+    private final Duration retryAfter;
+
+    public LoginThrottledException(String message, Duration retryAfter) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "AUTH-009");
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,15 @@
+package com.dliriotech.tms.authservice.exception;
+
+import com.dliriotech.tms.authservice.security.ratelimit.RateLimitDecision;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class RateLimitExceededException extends BaseException {
+    private final RateLimitDecision decision;
+
+    public RateLimitExceededException(String message, RateLimitDecision decision) {
+        super(message, HttpStatus.TOO_MANY_REQUESTS, "AUTH-008");
+        this.decision = decision;
+    }
+}
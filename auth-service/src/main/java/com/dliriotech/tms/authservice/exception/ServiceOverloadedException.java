@@ -0,0 +1,16 @@
+package com.dliriotech.tms.authservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceOverloadedException extends BaseException {
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "AUTH-007");
+        this.retryAfter = retryAfter;
+    }
+}
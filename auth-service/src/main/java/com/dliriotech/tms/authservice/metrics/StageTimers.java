@@ -0,0 +1,95 @@
+package com.dliriotech.tms.authservice.metrics;
+
+import com.dliriotech.tms.authservice.exception.BaseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Tiempos de cada etapa de los flujos de login, tokens y usuarios en auth.stage.duration, con histograma para
+ * calcular percentiles en Prometheus. Etiquetas, todas de cardinalidad baja:
+ * <ul>
+ *     <li>pipeline y stage: flujo y etapa</li>
+ *     <li>outcome: success, empty, cancelled o el código de error que devolvería GlobalExceptionHandler</li>
+ *     <li>empresas: 0, 1 o n en la etapa total del login; none en el resto</li>
+ * </ul>
+ */
+@Component
+public class StageTimers {
+
+    public static final String METRIC = "auth.stage.duration";
+    public static final String NO_BRANCH = "none";
+    private static final String INTERNAL_ERROR = "SYS-001";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> Mono<T> time(String pipeline, String stage, Mono<T> source) {
+        return time(pipeline, stage, source, value -> NO_BRANCH);
+    }
+
+    /**
+     * Como time(pipeline, stage, source), con la rama del resultado en la etiqueta empresas
+     */
+    public <T> Mono<T> time(String pipeline, String stage, Mono<T> source, Function<T, String> branch) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source
+                    .doOnSuccess(value -> record(pipeline, stage, value == null ? "empty" : "success",
+                            value == null ? NO_BRANCH : branch.apply(value), start))
+                    .doOnError(e -> record(pipeline, stage, outcome(e), NO_BRANCH, start))
+                    .doOnCancel(() -> record(pipeline, stage, "cancelled", NO_BRANCH, start));
+        });
+    }
+
+    /**
+     * Etapas síncronas, como firmar o verificar un JWT en un hilo que ya es de CPU
+     */
+    public <T> T record(String pipeline, String stage, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            T value = task.get();
+            record(pipeline, stage, "success", NO_BRANCH, start);
+            return value;
+        } catch (RuntimeException e) {
+            record(pipeline, stage, outcome(e), NO_BRANCH, start);
+            throw e;
+        }
+    }
+
+    public static String branch(int empresas) {
+        return empresas == 0 ? "0" : empresas == 1 ? "1" : "n";
+    }
+
+    public static String outcome(Throwable error) {
+        return error instanceof BaseException baseException ? baseException.getCode() : INTERNAL_ERROR;
+    }
+
+    private void record(String pipeline, String stage, String outcome, String branch, long start) {
+        timer(pipeline, stage, outcome, branch).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String pipeline, String stage, String outcome, String branch) {
+        String key = pipeline + '|' + stage + '|' + outcome + '|' + branch;
+        Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(key, k -> Timer.builder(METRIC)
+                .description("Duración de cada etapa de los flujos de autenticación")
+                .tags("pipeline", pipeline, "stage", stage, "outcome", outcome, "empresas", branch)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
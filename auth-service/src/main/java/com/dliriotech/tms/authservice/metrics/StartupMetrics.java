@@ -0,0 +1,50 @@
+package com.dliriotech.tms.authservice.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NativeDetector;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Tiempo hasta que el servicio acepta solicitudes, etiquetado con el modo de arranque (JVM o imagen nativa, con o
+ * sin Spring AOT y archivo CDS), para comparar entre despliegues el efecto de cada optimización. El gauge
+ * application.ready.time de Spring Boot mide lo mismo pero no distingue el modo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void record(ApplicationReadyEvent event) {
+        double seconds = event.getTimeTaken().toNanos() / 1e9;
+        String image = NativeDetector.inNativeImage() ? "native" : "jvm";
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        boolean cds = usesSharedArchive();
+        Gauge.builder("auth.startup.ready.time", () -> seconds)
+                .description("Tiempo hasta que el servicio está listo para recibir solicitudes")
+                .baseUnit("seconds")
+                .tags("image", image, "aot", String.valueOf(aot), "cds", String.valueOf(cds))
+                .register(meterRegistry);
+        log.info("Servicio listo en {} ms (imagen {}, AOT {}, CDS {})",
+                event.getTimeTaken().toMillis(), image, aot, cds);
+    }
+
+    // Solo cuenta el archivo de la aplicación; el CDS por defecto del JDK está activo en cualquier arranque
+    static boolean usesSharedArchive() {
+        if (NativeDetector.inNativeImage()) {
+            return false;
+        }
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile="));
+    }
+}
@@ -0,0 +1,82 @@
+package com.dliriotech.tms.authservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuánto espera cada consulta por una conexión del pool en r2dbc.pool.acquire. Junto a los gauges
+ * r2dbc.pool.acquired, idle y pending separa una base de datos lenta (consultas lentas con el pool holgado) de un
+ * pool agotado (esperas largas con solicitudes pendientes).
+ * <p>
+ * El registro de métricas se resuelve en la primera conexión: el envoltorio se crea desde un BeanPostProcessor y
+ * pedir el MeterRegistry antes lo dejaría fuera de la configuración de Actuator.
+ */
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable {
+
+    private final ConnectionFactory delegate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String name;
+    private volatile Timer acquired;
+    private volatile Timer failed;
+
+    public TimedConnectionFactory(ConnectionFactory delegate, ObjectProvider<MeterRegistry> meterRegistry, String name) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(delegate.create())
+                    .doOnSuccess(connection -> timer(true).record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> timer(false).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    /**
+     * Spring cierra el pool al detenerse invocando close() sobre el bean, que ahora es este envoltorio
+     */
+    @Override
+    public Mono<Void> close() {
+        return delegate instanceof Closeable closeable ? Mono.from(closeable.close()) : Mono.empty();
+    }
+
+    private Timer timer(boolean success) {
+        Timer timer = success ? acquired : failed;
+        if (timer == null) {
+            timer = Timer.builder("r2dbc.pool.acquire")
+                    .description("Espera hasta obtener una conexión del pool")
+                    .tags("name", name, "outcome", success ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+            if (success) {
+                acquired = timer;
+            } else {
+                failed = timer;
+            }
+        }
+        return timer;
+    }
+}
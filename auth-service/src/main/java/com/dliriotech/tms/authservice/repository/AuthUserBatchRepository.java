@@ -0,0 +1,22 @@
+package com.dliriotech.tms.authservice.repository;
+
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Inserciones de varias filas por sentencia para la importación masiva de usuarios
+ */
+public interface AuthUserBatchRepository {
+
+    /**
+     * Inserta los usuarios en una sola sentencia y los devuelve, en el mismo orden, con su id asignado.
+     * Si un nombre ya existe falla toda la sentencia por la restricción UNIQUE de user_name
+     */
+    Flux<AuthUser> insertAll(List<AuthUser> users);
+
+    Mono<Long> insertMemberships(List<UserEmpresa> memberships);
+}
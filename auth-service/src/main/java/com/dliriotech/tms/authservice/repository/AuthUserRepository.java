@@ -0,0 +1,32 @@
+package com.dliriotech.tms.authservice.repository;
+
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRead;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AuthUserRepository extends ReactiveCrudRepository<AuthUser, Integer>, AuthUserBatchRepository {
+    @ReplicaRead(userKey = true, primaryIfEmpty = true)
+    Mono<AuthUser> findByUserName(String userName);
+
+    @ReplicaRead(userKey = true)
+    @Override
+    Mono<AuthUser> findById(Integer id);
+
+    @ReplicaRead
+    @Override
+    Mono<Long> count();
+
+    // Solo actualiza si el hash no ha cambiado desde que se leyó, para no pisar un cambio de contraseña
+    @Modifying
+    @Query("UPDATE auth_user SET password = :newPassword WHERE id = :id AND password = :currentPassword")
+    Mono<Integer> updatePassword(Integer id, String currentPassword, String newPassword);
+
+    // Siempre en el primario: si la réplica va por detrás, el filtro de nombres rechazaría a los usuarios recién
+    // registrados hasta la siguiente reconstrucción
+    @Query("SELECT user_name FROM auth_user")
+    Flux<String> findAllUserNames();
+}
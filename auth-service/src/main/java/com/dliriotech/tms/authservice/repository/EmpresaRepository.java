@@ -1,7 +1,13 @@
 package com.dliriotech.tms.authservice.repository;
 
 import com.dliriotech.tms.authservice.entity.Empresa;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRead;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 
 public interface EmpresaRepository extends ReactiveCrudRepository<Empresa, Integer> {
-}
\ No newline at end of file
+
+    @ReplicaRead
+    @Override
+    Flux<Empresa> findAllById(Iterable<Integer> ids);
+}
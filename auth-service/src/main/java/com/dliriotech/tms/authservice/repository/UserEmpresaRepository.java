@@ -1,12 +1,17 @@
 package com.dliriotech.tms.authservice.repository;
 
 import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRead;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface UserEmpresaRepository extends ReactiveCrudRepository<UserEmpresa, Integer> {
+    @ReplicaRead(userKey = true)
     Flux<UserEmpresa> findByUserId(Integer userId);
+
+    @ReplicaRead(userKey = true)
     Mono<UserEmpresa> findByUserIdAndEmpresaId(Integer userId, Integer empresaId);
+
     Mono<Void> deleteByUserIdAndEmpresaId(Integer userId, Integer empresaId);
 }
\ No newline at end of file
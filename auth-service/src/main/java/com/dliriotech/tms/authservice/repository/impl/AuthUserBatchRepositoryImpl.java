@@ -0,0 +1,78 @@
+package com.dliriotech.tms.authservice.repository.impl;
+
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.repository.AuthUserBatchRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class AuthUserBatchRepositoryImpl implements AuthUserBatchRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<AuthUser> insertAll(List<AuthUser> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO auth_user (user_name, password, role, name, last_name, phone_number, email) VALUES ");
+        for (int i = 0; i < users.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:u").append(i).append(", :p").append(i).append(", :r").append(i)
+                    .append(", :n").append(i).append(", :l").append(i).append(", :t").append(i)
+                    .append(", :e").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < users.size(); i++) {
+            AuthUser user = users.get(i);
+            spec = bind(spec, "u" + i, user.getUserName());
+            spec = bind(spec, "p" + i, user.getPassword());
+            spec = bind(spec, "r" + i, user.getRole());
+            spec = bind(spec, "n" + i, user.getName());
+            spec = bind(spec, "l" + i, user.getLastName());
+            spec = bind(spec, "t" + i, user.getPhoneNumber());
+            spec = bind(spec, "e" + i, user.getEmail());
+        }
+        // Los ids generados de un INSERT de varias filas no son portables entre drivers: se leen por nombre
+        return spec.then()
+                .then(databaseClient.sql("SELECT id, user_name FROM auth_user WHERE user_name IN (:userNames)")
+                        .bind("userNames", users.stream().map(AuthUser::getUserName).toList())
+                        .map(row -> Map.entry(row.get("user_name", String.class), row.get("id", Integer.class)))
+                        .all()
+                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+                .flatMapIterable(ids -> {
+                    users.forEach(user -> user.setId(ids.get(user.getUserName())));
+                    return users;
+                });
+    }
+
+    @Override
+    public Mono<Long> insertMemberships(List<UserEmpresa> memberships) {
+        if (memberships.isEmpty()) {
+            return Mono.just(0L);
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO user_empresas (user_id, empresa_id) VALUES ");
+        for (int i = 0; i < memberships.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:u").append(i).append(", :e").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < memberships.size(); i++) {
+            spec = spec.bind("u" + i, memberships.get(i).getUserId())
+                    .bind("e" + i, memberships.get(i).getEmpresaId());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                          String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+}
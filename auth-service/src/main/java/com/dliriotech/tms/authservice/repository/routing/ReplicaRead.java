@@ -0,0 +1,28 @@
+package com.dliriotech.tms.authservice.repository.routing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Método de repositorio de solo lectura que puede atenderse desde la réplica
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReplicaRead {
+
+    /**
+     * El primer argumento identifica al usuario (nombre o id): si se escribió hace poco en este nodo, la lectura
+     * va al primario para ver la escritura
+     */
+    boolean userKey() default false;
+
+    /**
+     * Si la réplica no devuelve nada se repite en el primario, para usuarios escritos en otro nodo que aún no
+     * han llegado a la réplica
+     */
+    boolean primaryIfEmpty() default false;
+}
@@ -0,0 +1,67 @@
+package com.dliriotech.tms.authservice.repository.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marca para la réplica las consultas de los métodos @ReplicaRead. Las consultas de Spring Data son publishers
+ * en frío: el mismo Mono sin la marca se puede volver a suscribir contra el primario.
+ */
+@Aspect
+@Component
+public class ReplicaReadAspect {
+
+    private final ReplicaRouting routing;
+    private final Counter replicaReads;
+    private final Counter readYourWrites;
+    private final Counter primaryFallbacks;
+
+    public ReplicaReadAspect(ReplicaRouting routing, MeterRegistry meterRegistry) {
+        this.routing = routing;
+        this.replicaReads = readCounter(meterRegistry, "replica", "read");
+        this.readYourWrites = readCounter(meterRegistry, "primary", "recent_write");
+        this.primaryFallbacks = readCounter(meterRegistry, "primary", "replica_empty");
+    }
+
+    @Around("@annotation(replicaRead)")
+    public Object route(ProceedingJoinPoint joinPoint, ReplicaRead replicaRead) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (!routing.isEnabled()) {
+            return result;
+        }
+        Object[] args = joinPoint.getArgs();
+        if (replicaRead.userKey() && args.length > 0 && routing.recentlyWritten(args[0])) {
+            readYourWrites.increment();
+            return result;
+        }
+        if (result instanceof Mono<?> mono) {
+            @SuppressWarnings("unchecked")
+            Mono<Object> primary = (Mono<Object>) mono;
+            Mono<Object> replica = primary.contextWrite(ReplicaRouting::toReplica)
+                    .doOnSubscribe(s -> replicaReads.increment());
+            return replicaRead.primaryIfEmpty()
+                    ? replica.switchIfEmpty(Mono.defer(() -> {
+                        primaryFallbacks.increment();
+                        return primary;
+                    }))
+                    : replica;
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.contextWrite(ReplicaRouting::toReplica).doOnSubscribe(s -> replicaReads.increment());
+        }
+        return result;
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("auth.db.reads")
+                .description("Lecturas de repositorio marcadas para la réplica, por destino final")
+                .tags("target", target, "reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dliriotech.tms.authservice.repository.routing;
+
+import com.dliriotech.tms.authservice.config.ReadReplicaProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import reactor.util.context.Context;
+
+import java.util.Locale;
+
+/**
+ * Destino de cada consulta: la réplica se indica en el contexto de Reactor y ReplicaRoutingConnectionFactory lo
+ * lee al pedir la conexión; sin indicación se usa el primario. También recuerda las escrituras recientes de este
+ * nodo para leerlas desde el primario mientras la réplica se pone al día.
+ */
+@Component
+public class ReplicaRouting {
+
+    static final String ROUTE_KEY = ReplicaRouting.class.getName();
+    static final String REPLICA = "replica";
+    static final String PRIMARY = "primary";
+
+    private final ReadReplicaProperties properties;
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReplicaRouting(ReadReplicaProperties properties) {
+        this.properties = properties;
+        this.recentWrites = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedWrites())
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void markWritten(String userName, Integer userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (userName != null) {
+            recentWrites.put(key(userName), Boolean.TRUE);
+        }
+        if (userId != null) {
+            recentWrites.put(key(userId), Boolean.TRUE);
+        }
+    }
+
+    public boolean recentlyWritten(Object userKey) {
+        String key = key(userKey);
+        return key != null && recentWrites.getIfPresent(key) != null;
+    }
+
+    static Context toReplica(Context context) {
+        return context.put(ROUTE_KEY, REPLICA);
+    }
+
+    private static String key(Object userKey) {
+        if (userKey instanceof String userName) {
+            return "u:" + userName.toLowerCase(Locale.ROOT);
+        }
+        if (userKey instanceof Integer userId) {
+            return "id:" + userId;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dliriotech.tms.authservice.repository.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Elige entre el pool del primario y el de la réplica según el contexto de Reactor de cada consulta. Dentro de
+ * una transacción se reutiliza la conexión ya enlazada, que siempre es del primario.
+ */
+public class ReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    public ReplicaRoutingConnectionFactory(ConnectionFactory primary, ConnectionFactory replica) {
+        setTargetConnectionFactories(Map.of(ReplicaRouting.PRIMARY, primary, ReplicaRouting.REPLICA, replica));
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(ReplicaRouting.ROUTE_KEY)));
+    }
+}
@@ -19,4 +19,10 @@ public interface SessionTokenCache {
      * Elimina un token después de usarlo
      */
     Mono<Boolean> remove(String sessionToken);
-}
\ No newline at end of file
+
+    /**
+     * Canjea el token de forma atómica: devuelve true y lo elimina solo si existe y corresponde al userId,
+     * de modo que dos peticiones concurrentes no pueden usar el mismo token
+     */
+    Mono<Boolean> consume(String sessionToken, Integer userId);
+}
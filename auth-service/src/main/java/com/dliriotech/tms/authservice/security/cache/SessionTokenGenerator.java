@@ -0,0 +1,33 @@
+package com.dliriotech.tms.authservice.security.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Genera tokens de sesión con formato UUID v4.
+ * UUID.randomUUID() usa NativePRNG, que lee /dev/urandom en cada llamada y bloquearía el event loop;
+ * un DRBG solo lee entropía al sembrarse, y eso se hace al crear el bean, durante el arranque.
+ */
+@Component
+public class SessionTokenGenerator {
+
+    private final SecureRandom random;
+
+    public SessionTokenGenerator() {
+        try {
+            random = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG no disponible", e);
+        }
+        random.nextLong();
+    }
+
+    public String newToken() {
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
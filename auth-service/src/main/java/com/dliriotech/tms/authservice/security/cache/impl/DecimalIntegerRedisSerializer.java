@@ -0,0 +1,44 @@
+package com.dliriotech.tms.authservice.security.cache.impl;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Enteros como dígitos ASCII, sin pasar por Jackson. Redis guarda estos valores con codificación entera,
+ * sin reservar memoria para el texto, y el formato coincide con el JSON que escribía Jackson2JsonRedisSerializer,
+ * así que los valores ya almacenados se siguen leyendo.
+ */
+public class DecimalIntegerRedisSerializer implements RedisSerializer<Integer> {
+
+    @Override
+    public byte[] serialize(Integer value) {
+        return value == null ? null : Integer.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public Integer deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        boolean negative = bytes[0] == '-';
+        int start = negative ? 1 : 0;
+        if (bytes.length == start || bytes.length - start > 10) {
+            throw new SerializationException("Entero no válido en Redis");
+        }
+        long value = 0;
+        for (int i = start; i < bytes.length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new SerializationException("Entero no válido en Redis");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerializationException("Entero fuera de rango en Redis");
+        }
+        return (int) value;
+    }
+}
@@ -3,34 +3,37 @@ package com.dliriotech.tms.authservice.security.cache.impl;
 import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
 
 @Component
-@Primary
 @RequiredArgsConstructor
 @Slf4j
 public class RedisSessionTokenCache implements SessionTokenCache {
 
     private final ReactiveRedisTemplate<String, Integer> redisTemplate;
-    private static final String KEY_PREFIX = "session:token:";
+
+    // GET + comparación + DEL en el servidor: un solo viaje de red y sin carrera entre peticiones paralelas.
+    // No se usa GETDEL porque borraría el token aunque el userId no coincida
+    private static final RedisScript<Boolean> CONSUME_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Boolean.class);
 
     @Override
     public Mono<Boolean> store(String sessionToken, Integer userId, Duration ttl) {
-        String key = KEY_PREFIX + sessionToken;
-        return redisTemplate.opsForValue().set(key, userId, ttl)
+        return redisTemplate.opsForValue().set(sessionToken, userId, ttl)
                 .doOnSuccess(result -> log.debug("Token de sesión almacenado para usuario {}", userId))
                 .doOnError(e -> log.error("Error al almacenar token de sesión", e));
     }
 
     @Override
     public Mono<Boolean> validate(String sessionToken, Integer userId) {
-        String key = KEY_PREFIX + sessionToken;
-        return redisTemplate.opsForValue().get(key)
+        return redisTemplate.opsForValue().get(sessionToken)
                 .map(storedUserId -> storedUserId.equals(userId))
                 .defaultIfEmpty(false)
                 .doOnSuccess(result -> log.debug("Validación de token: {}", result));
@@ -38,9 +41,17 @@ public class RedisSessionTokenCache implements SessionTokenCache {
 
     @Override
     public Mono<Boolean> remove(String sessionToken) {
-        String key = KEY_PREFIX + sessionToken;
-        return redisTemplate.delete(key)
+        return redisTemplate.delete(sessionToken)
                 .map(count -> count > 0)
                 .doOnSuccess(result -> log.debug("Token de sesión eliminado: {}", result));
     }
+
+    @Override
+    public Mono<Boolean> consume(String sessionToken, Integer userId) {
+        // ReactiveRedisTemplate ejecuta el script con EVALSHA y solo envía el cuerpo si Redis aún no lo tiene
+        return redisTemplate.execute(CONSUME_SCRIPT, List.of(sessionToken), List.of(userId))
+                .next()
+                .defaultIfEmpty(false)
+                .doOnSuccess(result -> log.debug("Token de sesión canjeado: {}", result));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.dliriotech.tms.authservice.security.cache.impl;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Claves Redis de los tokens de sesión: "st:" seguido de los 16 bytes del UUID (19 bytes en lugar de los 50
+ * de "session:token:" + UUID en texto). Un token que no sea un UUID canónico en minúsculas, que nunca se emite,
+ * se guarda con el formato de texto para no confundirlo con una clave binaria.
+ */
+public class SessionTokenKeySerializer implements RedisSerializer<String> {
+
+    private static final String TEXT_PREFIX = "session:token:";
+    private static final byte[] PREFIX = "st:".getBytes(StandardCharsets.US_ASCII);
+    private static final int UUID_LENGTH = 36;
+    private static final int KEY_LENGTH = PREFIX.length + 16;
+    private static final byte[] HEX = new byte['f' + 1];
+
+    static {
+        Arrays.fill(HEX, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            HEX['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            HEX['a' + i] = (byte) (10 + i);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String sessionToken) {
+        if (sessionToken == null) {
+            return null;
+        }
+        byte[] key = compact(sessionToken);
+        return key != null ? key : (TEXT_PREFIX + sessionToken).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String deserialize(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (bytes.length == KEY_LENGTH && Arrays.equals(bytes, 0, PREFIX.length, PREFIX, 0, PREFIX.length)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, PREFIX.length, 16);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        String key = new String(bytes, StandardCharsets.UTF_8);
+        return key.startsWith(TEXT_PREFIX) ? key.substring(TEXT_PREFIX.length()) : key;
+    }
+
+    private static byte[] compact(String token) {
+        if (token.length() != UUID_LENGTH) {
+            return null;
+        }
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        int nibbles = 0;
+        for (int i = 0; i < UUID_LENGTH; i++) {
+            char c = token.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digit = hex(c);
+            if (digit < 0) {
+                return null;
+            }
+            if (nibbles++ < 16) {
+                mostSigBits = mostSigBits << 4 | digit;
+            } else {
+                leastSigBits = leastSigBits << 4 | digit;
+            }
+        }
+        byte[] key = new byte[KEY_LENGTH];
+        ByteBuffer.wrap(key).put(PREFIX).putLong(mostSigBits).putLong(leastSigBits);
+        return key;
+    }
+
+    private static int hex(char c) {
+        return c < HEX.length ? HEX[c] : -1;
+    }
+}
@@ -0,0 +1,178 @@
+package com.dliriotech.tms.authservice.security.cache.impl;
+
+import com.dliriotech.tms.authservice.config.SessionCacheProperties;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Redis con una copia local acotada para cuando no responde. Redis sigue siendo la fuente de verdad
+ * para que un token sea de un solo uso entre nodos; cada operación en Redis tiene un tiempo máximo y pasa
+ * por un circuit breaker. La copia local solo guarda los tokens que no se pudieron escribir en Redis: un
+ * token guardado en Redis nunca se acepta desde la memoria de un nodo, porque otro nodo puede haberlo
+ * canjeado ya.
+ */
+@Component
+@Primary
+@Slf4j
+public class TieredSessionTokenCache implements SessionTokenCache {
+
+    static final String CIRCUIT_BREAKER = "sessioncache";
+
+    private final RedisSessionTokenCache redis;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration redisTimeout;
+    private final Cache<String, LocalEntry> local;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public TieredSessionTokenCache(RedisSessionTokenCache redis,
+                                   SessionCacheProperties properties,
+                                   CircuitBreakerRegistry circuitBreakerRegistry,
+                                   MeterRegistry meterRegistry) {
+        this.redis = redis;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.redisTimeout = properties.getRedisTimeout();
+        this.meterRegistry = meterRegistry;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new LocalEntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "session-tokens");
+    }
+
+    @Override
+    public Mono<Boolean> store(String sessionToken, Integer userId, Duration ttl) {
+        return remote("store",
+                () -> redis.store(sessionToken, userId, ttl),
+                () -> {
+                    // Solo este nodo podrá canjearlo
+                    local.put(sessionToken, new LocalEntry(userId, ttl.toNanos()));
+                    return Mono.just(true);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> validate(String sessionToken, Integer userId) {
+        return remote("validate",
+                () -> redis.validate(sessionToken, userId)
+                        .map(valid -> valid || matchesLocal(sessionToken, userId))
+                        .doOnSuccess(valid -> record("redis", valid)),
+                () -> {
+                    boolean valid = matchesLocal(sessionToken, userId);
+                    record("local", valid);
+                    return Mono.just(valid);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> remove(String sessionToken) {
+        return remote("remove",
+                () -> redis.remove(sessionToken)
+                        .map(removed -> local.asMap().remove(sessionToken) != null || removed),
+                () -> Mono.just(local.asMap().remove(sessionToken) != null));
+    }
+
+    @Override
+    public Mono<Boolean> consume(String sessionToken, Integer userId) {
+        return remote("consume",
+                () -> redis.consume(sessionToken, userId)
+                        .map(consumed -> {
+                            if (consumed) {
+                                local.invalidate(sessionToken);
+                                return true;
+                            }
+                            // Redis no lo tiene: solo es válido si se guardó en este nodo durante una caída de Redis
+                            return consumeLocal(sessionToken, userId);
+                        })
+                        .doOnSuccess(consumed -> record("redis", consumed)),
+                () -> {
+                    boolean consumed = consumeLocal(sessionToken, userId);
+                    record("local", consumed);
+                    return Mono.just(consumed);
+                });
+    }
+
+    private <T> Mono<T> remote(String operation, Supplier<Mono<T>> call, Supplier<Mono<T>> fallback) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            fallback(operation);
+            return Mono.defer(fallback);
+        }
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return call.get()
+                            .timeout(redisTimeout)
+                            .doOnSuccess(r -> circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                            .doOnError(e -> circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e));
+                })
+                .doOnCancel(circuitBreaker::releasePermission)
+                .onErrorResume(e -> {
+                    log.warn("Redis no disponible para {} de token de sesión, se usa la copia local: {}", operation, e.toString());
+                    fallback(operation);
+                    return Mono.defer(fallback);
+                });
+    }
+
+    private boolean matchesLocal(String sessionToken, Integer userId) {
+        LocalEntry entry = local.getIfPresent(sessionToken);
+        return entry != null && entry.userId().equals(userId);
+    }
+
+    private boolean consumeLocal(String sessionToken, Integer userId) {
+        LocalEntry entry = local.getIfPresent(sessionToken);
+        // remove(key, value) solo elimina si nadie lo ha canjeado antes
+        return entry != null && entry.userId().equals(userId) && local.asMap().remove(sessionToken, entry);
+    }
+
+    private void record(String tier, boolean hit) {
+        counter("auth.session.cache.requests", "tier", tier, "result", hit ? "hit" : "miss").increment();
+    }
+
+    private void fallback(String operation) {
+        counter("auth.session.cache.fallback", "operation", operation).increment();
+    }
+
+    private Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(name + String.join(",", tags), k -> Counter.builder(name)
+                .tags(tags)
+                .register(meterRegistry));
+    }
+
+    private record LocalEntry(Integer userId, long ttlNanos) {
+    }
+
+    private static class LocalEntryExpiry implements Expiry<String, LocalEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalEntry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.dliriotech.tms.authservice.security.config;
+
+import com.dliriotech.tms.authservice.config.ClientAddressProperties;
+import com.dliriotech.tms.authservice.config.LoginThrottleProperties;
+import com.dliriotech.tms.authservice.config.RateLimitProperties;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.service.AuthenticationService;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.access.server.BearerTokenServerAccessDeniedHandler;
+import org.springframework.security.oauth2.server.resource.web.server.BearerTokenServerAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Configuration
+@EnableWebFluxSecurity
+@EnableConfigurationProperties({RateLimitProperties.class, LoginThrottleProperties.class, ClientAddressProperties.class})
+public class SecurityConfig {
+
+    private static final String BULK_IMPORT = "/api/users/bulk";
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         AuthenticationService authenticationService) {
+        BearerTokenServerAuthenticationEntryPoint entryPoint = new BearerTokenServerAuthenticationEntryPoint();
+        // Solo la importación masiva exige token: el resto de endpoints son los que lo emiten o lo validan
+        AuthenticationWebFilter bearerTokenFilter = new AuthenticationWebFilter(
+                introspectingAuthenticationManager(authenticationService));
+        bearerTokenFilter.setServerAuthenticationConverter(new ServerBearerTokenAuthenticationConverter());
+        bearerTokenFilter.setRequiresAuthenticationMatcher(ServerWebExchangeMatchers.pathMatchers(BULK_IMPORT));
+        bearerTokenFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .addFilterAt(bearerTokenFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(entryPoint)
+                        .accessDeniedHandler(new BearerTokenServerAccessDeniedHandler()))
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers("/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/webjars/**", "/openapi.yaml").permitAll()
+                        .pathMatchers("/.well-known/jwks.json").permitAll()
+                        .pathMatchers("/api/auth/*", "/api/auth/validate/batch").permitAll()
+                        .pathMatchers("/api/tokens/*").permitAll()
+                        .pathMatchers(BULK_IMPORT).hasRole("ADMIN")
+                        .pathMatchers("/api/users/*").permitAll()
+                        .anyExchange().authenticated()
+                )
+                .build();
+    }
+
+    /**
+     * Autentica el token de acceso con las mismas comprobaciones que la introspección, incluida la revocación,
+     * y concede su rol con el prefijo ROLE_
+     */
+    private static ReactiveAuthenticationManager introspectingAuthenticationManager(
+            AuthenticationService authenticationService) {
+        return authentication -> {
+            String token = ((BearerTokenAuthenticationToken) authentication).getToken();
+            return authenticationService.introspect(token)
+                    .filter(TokenIntrospectionResponse::isActive)
+                    .switchIfEmpty(Mono.error(new BadCredentialsException("Token inválido, expirado o revocado")))
+                    .map(introspection -> new UsernamePasswordAuthenticationToken(introspection.getSub(), token,
+                            List.of(new SimpleGrantedAuthority("ROLE_" + introspection.getRole()))));
+        };
+    }
+}
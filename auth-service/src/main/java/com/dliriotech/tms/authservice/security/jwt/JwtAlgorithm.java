@@ -0,0 +1,31 @@
+package com.dliriotech.tms.authservice.security.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import lombok.Getter;
+
+/**
+ * Algoritmos de firma soportados para los tokens emitidos por el servicio.
+ */
+@Getter
+public enum JwtAlgorithm {
+    HS256(Jwts.SIG.HS256, null),
+    RS256(Jwts.SIG.RS256, "RSA"),
+    EdDSA(Jwts.SIG.EdDSA, "Ed25519");
+
+    private final SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+
+    /**
+     * Nombre del algoritmo para {@link java.security.KeyFactory}, nulo para HMAC
+     */
+    private final String keyFactoryAlgorithm;
+
+    JwtAlgorithm(SecureDigestAlgorithm<?, ?> signatureAlgorithm, String keyFactoryAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return keyFactoryAlgorithm != null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.dliriotech.tms.authservice.security.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto inmutable de claves de firma y verificación.
+ * <p>
+ * Una sola clave está activa para firmar; todas las claves configuradas se aceptan para verificar,
+ * lo que permite rotar claves publicando la nueva en el JWKS antes de empezar a firmar con ella.
+ * Los tokens sin {@code kid} se verifican con la clave HMAC compartida, si está configurada.
+ */
+public final class JwtKeySet {
+
+    private final String activeKeyId;
+    private final JwtAlgorithm activeAlgorithm;
+    private final Key activeSigningKey;
+    private final SecretKey hmacKey;
+    private final Map<String, Key> verificationKeys;
+    private final List<PublicJwk<?>> publicJwks;
+    private final Locator<Key> keyLocator;
+
+    public JwtKeySet(SecretKey hmacKey, String activeKeyId, List<KeyEntry> keys) {
+        this.hmacKey = hmacKey;
+        this.verificationKeys = new LinkedHashMap<>();
+        this.publicJwks = new ArrayList<>();
+
+        KeyEntry active = null;
+        for (KeyEntry entry : keys) {
+            if (!entry.algorithm().isAsymmetric()) {
+                throw new IllegalStateException("La clave " + entry.keyId() + " debe ser asimétrica (RS256 o EdDSA)");
+            }
+            if (verificationKeys.put(entry.keyId(), entry.publicKey()) != null) {
+                throw new IllegalStateException("Identificador de clave duplicado: " + entry.keyId());
+            }
+            publicJwks.add(Jwks.builder()
+                    .key(entry.publicKey())
+                    .id(entry.keyId())
+                    .algorithm(entry.algorithm().name())
+                    .publicKeyUse("sig")
+                    .build());
+            if (entry.keyId().equals(activeKeyId)) {
+                active = entry;
+            }
+        }
+
+        if (activeKeyId == null || activeKeyId.isBlank()) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("Se requiere jwt.secret para firmar con HS256");
+            }
+            this.activeKeyId = null;
+            this.activeAlgorithm = JwtAlgorithm.HS256;
+            this.activeSigningKey = hmacKey;
+        } else {
+            if (active == null || active.privateKey() == null) {
+                throw new IllegalStateException("No hay clave privada configurada para la clave activa " + activeKeyId);
+            }
+            this.activeKeyId = active.keyId();
+            this.activeAlgorithm = active.algorithm();
+            this.activeSigningKey = active.privateKey();
+        }
+
+        this.keyLocator = new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                String keyId = header.getKeyId();
+                Key key = keyId == null ? JwtKeySet.this.hmacKey : verificationKeys.get(keyId);
+                if (key == null) {
+                    throw new InvalidKeyException("Clave de firma desconocida: " + keyId);
+                }
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Conjunto con una única clave HMAC compartida (comportamiento HS256 original)
+     */
+    public static JwtKeySet hmac(SecretKey hmacKey) {
+        return new JwtKeySet(hmacKey, null, List.of());
+    }
+
+    /**
+     * Firma el token con la clave activa, añadiendo el {@code kid} en la cabecera si es asimétrica
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public String sign(JwtBuilder builder) {
+        if (activeKeyId != null) {
+            builder.header().keyId(activeKeyId).and();
+        }
+        return builder
+                .signWith(activeSigningKey, (SecureDigestAlgorithm) activeAlgorithm.getSignatureAlgorithm())
+                .compact();
+    }
+
+    public Locator<Key> keyLocator() {
+        return keyLocator;
+    }
+
+    public JwtAlgorithm activeAlgorithm() {
+        return activeAlgorithm;
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Claves públicas publicadas en el JWKS, en el orden configurado
+     */
+    public List<PublicJwk<?>> publicJwks() {
+        return List.copyOf(publicJwks);
+    }
+
+    public record KeyEntry(String keyId, JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.dliriotech.tms.authservice.security.jwt;
+
+import com.dliriotech.tms.authclient.JwtTokenVerifier;
+import com.dliriotech.tms.authclient.TokenClaimNames;
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authclient.TokenVerificationException;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+@Component
+public class JwtProvider {
+
+    @Value("${jwt.expiration}")
+    private long expirationMs;
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpirationMs;
+
+    // Las claves, el verificador y el serializador JSON son inmutables y thread-safe: se construyen una sola vez.
+    // El serializador se fija explícitamente para que jjwt no lo busque con ServiceLoader (E/S de disco) al emitir.
+    // La verificación es la misma que usan los servicios consumidores con auth-client.
+    private final JwtKeySet keySet;
+    private final JwtTokenVerifier verifier;
+    private final Serializer<Map<String, ?>> serializer = new JacksonSerializer<>();
+    // Genera los jti; DRBG sembrado al construir el bean, igual que SessionTokenGenerator
+    private final SecureRandom tokenIdRandom;
+
+    public JwtProvider(JwtKeySet keySet) {
+        this.keySet = keySet;
+        try {
+            this.tokenIdRandom = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG no disponible", e);
+        }
+        tokenIdRandom.nextLong();
+        this.verifier = new JwtTokenVerifier(keySet.keyLocator());
+    }
+
+    public String createTokenWithEmpresa(AuthUser user, Integer empresaId) {
+        var now = new Date();
+        var expiryDate = new Date(now.getTime() + expirationMs);
+
+        return keySet.sign(Jwts.builder()
+                .json(serializer)
+                .id(newTokenId())
+                .subject(user.getUserName())
+                .claim(TokenClaimNames.USER_ID, user.getId())
+                .claim(TokenClaimNames.ROLE, user.getRole())
+                .claim(TokenClaimNames.EMPRESA_ID, empresaId)
+                .issuedAt(now)
+                .expiration(expiryDate));
+    }
+
+    public String createRefreshToken(AuthUser user) {
+        var now = new Date();
+        var expiryDate = new Date(now.getTime() + refreshExpirationMs);
+
+        return keySet.sign(Jwts.builder()
+                .json(serializer)
+                .id(newTokenId())
+                .subject(user.getUserName())
+                .claim(TokenClaimNames.USER_ID, user.getId())
+                .claim(TokenClaimNames.ROLE, user.getRole())
+                .issuedAt(now)
+                .expiration(expiryDate));
+    }
+
+    /**
+     * Verifica la firma y la expiración del token y devuelve sus claims en una sola pasada.
+     *
+     * @throws InvalidTokenException si el token está expirado, mal formado o su firma no es válida
+     */
+    public TokenClaims parse(String token) {
+        try {
+            return verifier.verify(token);
+        } catch (TokenVerificationException e) {
+            throw new InvalidTokenException(e.getMessage());
+        }
+    }
+
+    public boolean validate(String token) {
+        try {
+            parse(token);
+            return true;
+        } catch (InvalidTokenException e) {
+            return false;
+        }
+    }
+
+    public Integer getUserIdFromToken(String token) {
+        return parse(token).userId();
+    }
+
+    public Integer getEmpresaIdFromToken(String token) {
+        return parse(token).empresaId();
+    }
+
+    public String getRoleFromToken(String token) {
+        return parse(token).role();
+    }
+
+    public boolean hasEmpresaClaim(String token) {
+        try {
+            return parse(token).hasEmpresa();
+        } catch (InvalidTokenException e) {
+            return false;
+        }
+    }
+
+    public boolean isRefreshToken(String token) {
+        try {
+            return parse(token).isRefreshToken();
+        } catch (InvalidTokenException e) {
+            return false;
+        }
+    }
+
+    // 128 bits aleatorios en base64url (22 caracteres)
+    private String newTokenId() {
+        byte[] bytes = new byte[16];
+        tokenIdRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dliriotech.tms.authservice.security.jwt;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Lectura de claves en formato PEM (PKCS#8 para privadas, X.509 para públicas).
+ */
+public final class PemKeys {
+
+    private PemKeys() {
+    }
+
+    public static PrivateKey readPrivateKey(String pem, JwtAlgorithm algorithm) {
+        try {
+            return KeyFactory.getInstance(algorithm.getKeyFactoryAlgorithm())
+                    .generatePrivate(new PKCS8EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave privada " + algorithm + " inválida", e);
+        }
+    }
+
+    public static PublicKey readPublicKey(String pem, JwtAlgorithm algorithm) {
+        try {
+            return KeyFactory.getInstance(algorithm.getKeyFactoryAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(decode(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Clave pública " + algorithm + " inválida", e);
+        }
+    }
+
+    private static byte[] decode(String pem) {
+        String base64 = pem
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
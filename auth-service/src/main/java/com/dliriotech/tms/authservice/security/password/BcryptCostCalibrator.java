@@ -0,0 +1,74 @@
+package com.dliriotech.tms.authservice.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Elige el coste de BCrypt que respeta un presupuesto de latencia por hash en el hardware actual.
+ */
+@Slf4j
+public final class BcryptCostCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibracion-coste-bcrypt";
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        // Primer hash de calentamiento; se toma el mínimo de varias muestras para filtrar ruido
+        measure(minStrength);
+        Duration fastest = measure(minStrength);
+        for (int i = 1; i < SAMPLES; i++) {
+            Duration sample = measure(minStrength);
+            if (sample.compareTo(fastest) < 0) {
+                fastest = sample;
+            }
+        }
+
+        int strength = strengthFor(targetLatency, fastest, minStrength, maxStrength);
+        if (fastest.compareTo(targetLatency) > 0) {
+            log.warn("Un hash BCrypt con coste {} tarda {} ms, por encima del presupuesto de {} ms",
+                    minStrength, fastest.toMillis(), targetLatency.toMillis());
+        }
+        log.info("Coste BCrypt calibrado: {} (coste {} = {} ms, presupuesto {} ms)",
+                strength, minStrength, fastest.toMillis(), targetLatency.toMillis());
+        return strength;
+    }
+
+    /**
+     * Cada unidad de coste duplica el tiempo de hash, así que basta con medir el coste mínimo.
+     */
+    static int strengthFor(Duration targetLatency, Duration latencyAtMin, int minStrength, int maxStrength) {
+        long nanos = Math.max(1, latencyAtMin.toNanos());
+        int strength = minStrength;
+        while (strength < maxStrength && nanos * 2 <= targetLatency.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Coste codificado en un hash BCrypt ({@code $2a$10$...}), o -1 si no es un hash BCrypt.
+     */
+    public static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Duration measure(int strength) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(strength));
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,27 @@
+package com.dliriotech.tms.authservice.security.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt que pide volver a calcular el hash cuando el coste almacenado es menor que el configurado. Un coste mayor
+ * se conserva: un nodo con un coste menor no debe rebajar los hashes que otro ya subió.
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = BcryptCostCalibrator.strengthOf(encodedPassword);
+        return stored != -1 && stored < strength;
+    }
+}
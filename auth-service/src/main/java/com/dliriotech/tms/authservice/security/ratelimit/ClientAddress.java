@@ -0,0 +1,39 @@
+package com.dliriotech.tms.authservice.security.ratelimit;
+
+import com.dliriotech.tms.authservice.config.ClientAddressProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+
+@Component
+@Slf4j
+public class ClientAddress {
+
+    private static final String UNKNOWN = "desconocida";
+
+    private final boolean trusted;
+
+    public ClientAddress(ClientAddressProperties properties) {
+        this.trusted = properties.isTrusted();
+        if (!trusted) {
+            log.warn("client-address.trusted=false: no se aplican el límite de tasa ni la espera tras fallos por IP");
+        }
+    }
+
+    /**
+     * IP del cliente para los límites por IP, o null si la dirección remota no es de confianza. Detrás de un proxy
+     * solo es la del cliente real si server.forward-headers-strategy toma las cabeceras X-Forwarded-For del proxy
+     */
+    public String of(ServerHttpRequest request) {
+        if (!trusted) {
+            return null;
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return UNKNOWN;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
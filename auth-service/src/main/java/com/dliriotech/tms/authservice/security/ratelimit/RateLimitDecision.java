@@ -0,0 +1,32 @@
+package com.dliriotech.tms.authservice.security.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Resultado de consultar el límite de tasa, referido al cubo más restrictivo de la solicitud
+ *
+ * @param limit             capacidad del cubo; negativo si la solicitud no está limitada
+ * @param remaining         tokens que quedan tras esta solicitud
+ * @param resetSeconds      segundos hasta que el cubo vuelva a estar lleno
+ * @param retryAfterSeconds segundos hasta que haya un token disponible, si se ha rechazado
+ */
+public record RateLimitDecision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {
+
+    public static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, -1, -1, 0, 0);
+
+    /**
+     * Cabeceras RateLimit-Limit/Remaining/Reset (borrador IETF de cabeceras de límite de tasa) y, si se ha
+     * rechazado, Retry-After
+     */
+    public void applyTo(HttpHeaders headers) {
+        if (limit < 0) {
+            return;
+        }
+        headers.set("RateLimit-Limit", String.valueOf(limit));
+        headers.set("RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("RateLimit-Reset", String.valueOf(resetSeconds));
+        if (!allowed) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+    }
+}
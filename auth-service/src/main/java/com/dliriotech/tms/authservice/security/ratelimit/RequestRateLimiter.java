@@ -0,0 +1,11 @@
+package com.dliriotech.tms.authservice.security.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+public interface RequestRateLimiter {
+    /**
+     * Consume un token de los cubos del endpoint para el usuario y la IP indicados. Si alguno está vacío,
+     * falla con RateLimitExceededException sin consumir de ninguno. Con clientIp null no se usa el cubo por IP
+     */
+    Mono<RateLimitDecision> acquire(String endpoint, String user, String clientIp);
+}
@@ -0,0 +1,42 @@
+package com.dliriotech.tms.authservice.security.ratelimit.impl;
+
+import com.dliriotech.tms.authservice.config.RateLimitProperties.Bandwidth;
+import com.dliriotech.tms.authservice.security.ratelimit.RateLimitDecision;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cubo de tokens de un solo nodo, con la misma lógica que el script de Redis, para cuando Redis no está disponible
+ */
+final class LocalTokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long updatedAt;
+
+    LocalTokenBucket(Bandwidth bandwidth) {
+        this.capacity = bandwidth.getCapacity();
+        this.tokensPerNano = (double) capacity / bandwidth.getPeriod().toNanos();
+        this.tokens = capacity;
+        this.updatedAt = System.nanoTime();
+    }
+
+    synchronized RateLimitDecision tryTake(long now) {
+        tokens = Math.min(capacity, tokens + Math.max(0, now - updatedAt) * tokensPerNano);
+        updatedAt = now;
+        if (tokens < 1) {
+            return new RateLimitDecision(false, capacity, 0, seconds(capacity - tokens), seconds(1 - tokens));
+        }
+        tokens -= 1;
+        return new RateLimitDecision(true, capacity, (int) tokens, seconds(capacity - tokens), 0);
+    }
+
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    private long seconds(double missingTokens) {
+        return (long) Math.ceil(missingTokens / tokensPerNano / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,270 @@
+package com.dliriotech.tms.authservice.security.ratelimit.impl;
+
+import com.dliriotech.tms.authservice.cache.UserNames;
+import com.dliriotech.tms.authservice.config.RateLimitProperties;
+import com.dliriotech.tms.authservice.config.RateLimitProperties.Bandwidth;
+import com.dliriotech.tms.authservice.exception.RateLimitExceededException;
+import com.dliriotech.tms.authservice.security.ratelimit.RateLimitDecision;
+import com.dliriotech.tms.authservice.security.ratelimit.RequestRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Límite de tasa compartido por todos los nodos: un cubo de tokens en Redis por endpoint y usuario y otro por
+ * endpoint e IP, actualizados de forma atómica por un script Lua con el reloj de Redis.
+ * <p>
+ * Si la misma clave ya pasó por Redis durante el último lease-ttl y los cubos están por encima de la mitad, el script
+ * reserva para el nodo unos tokens más que se gastan localmente sin volver a Redis; ya están descontados, así que el
+ * límite global nunca se supera. Una clave que llega por primera vez no reserva, porque los tokens se perderían. Si Redis no
+ * responde o el circuit breaker está abierto, cada nodo aplica los mismos límites con sus propios contadores.
+ */
+@Component
+@Slf4j
+public class RedisRequestRateLimiter implements RequestRateLimiter {
+
+    static final String CIRCUIT_BREAKER = "ratelimiter";
+    private static final String KEY_PREFIX = "rl:";
+
+    // KEYS: cubos; ARGV[1]: tokens de reserva; ARGV[2i], ARGV[2i+1]: capacidad y periodo en ms del cubo i.
+    // Devuelve "concedidos capacidad restantes msHastaLleno msHastaUnToken" del cubo con menos tokens
+    private static final RedisScript<String> ACQUIRE_SCRIPT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local extra = tonumber(ARGV[1])
+            local tokens, capacity, rate = {}, {}, {}
+            local allowed, retry = true, 0
+            for i = 1, #KEYS do
+              capacity[i] = tonumber(ARGV[2 * i])
+              rate[i] = capacity[i] / tonumber(ARGV[2 * i + 1])
+              local bucket = redis.call('HMGET', KEYS[i], 't', 'ts')
+              local t = capacity[i]
+              if bucket[1] then
+                t = math.min(capacity[i], tonumber(bucket[1]) + math.max(0, now - tonumber(bucket[2])) * rate[i])
+              end
+              tokens[i] = t
+              if t < 1 then
+                allowed = false
+                retry = math.max(retry, math.ceil((1 - t) / rate[i]))
+              end
+              extra = math.min(extra, math.floor(t - 1 - capacity[i] / 2))
+            end
+            local granted = 0
+            if allowed then
+              granted = 1 + math.max(0, extra)
+            end
+            local limit, remaining, reset = 0, -1, 0
+            for i = 1, #KEYS do
+              local t = tokens[i] - granted
+              local refill = math.ceil((capacity[i] - t) / rate[i])
+              if granted > 0 then
+                redis.call('HSET', KEYS[i], 't', t, 'ts', now)
+                redis.call('PEXPIRE', KEYS[i], refill + 1000)
+              end
+              if remaining < 0 or t < remaining then
+                limit, remaining, reset = capacity[i], t, refill
+              end
+            end
+            return table.concat({granted, limit, math.floor(remaining), reset, retry}, ' ')
+            """, String.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache<String, Lease> leases;
+    private final Cache<String, Boolean> recentKeys;
+    private final Cache<String, LocalTokenBucket> localBuckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public RedisRequestRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                   RateLimitProperties properties,
+                                   CircuitBreakerRegistry circuitBreakerRegistry,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+        this.meterRegistry = meterRegistry;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxLocalKeys())
+                .expireAfterWrite(properties.getLeaseTtl())
+                .build();
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxLocalKeys())
+                .expireAfterWrite(properties.getLeaseTtl())
+                .build();
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxLocalKeys())
+                .expireAfterAccess(longestPeriod(properties))
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> acquire(String endpoint, String user, String clientIp) {
+        RateLimitProperties.Endpoint limits = properties.getEndpoints().get(endpoint);
+        if (!properties.isEnabled() || limits == null) {
+            return Mono.just(RateLimitDecision.UNLIMITED);
+        }
+        // Los nombres que MySQL trata como la misma cuenta comparten cubo
+        String userKey = user != null ? UserNames.normalize(user) : null;
+        List<Bucket> buckets = new ArrayList<>(2);
+        if (userKey != null) {
+            addBucket(buckets, limits.getUser(), KEY_PREFIX + endpoint + ":u:" + userKey);
+        }
+        if (clientIp != null) {
+            addBucket(buckets, limits.getIp(), KEY_PREFIX + endpoint + ":ip:" + clientIp);
+        }
+        if (buckets.isEmpty()) {
+            return Mono.just(RateLimitDecision.UNLIMITED);
+        }
+
+        String leaseKey = endpoint + '\n' + userKey + '\n' + clientIp;
+        Lease lease = leases.getIfPresent(leaseKey);
+        if (lease != null) {
+            RateLimitDecision leased = lease.take();
+            if (leased != null) {
+                record(endpoint, "lease", true);
+                return Mono.just(leased);
+            }
+        }
+        return remote(endpoint, buckets, leaseKey).flatMap(decision -> decision.allowed()
+                ? Mono.just(decision)
+                : Mono.error(new RateLimitExceededException("Demasiadas solicitudes, reintentar en "
+                        + decision.retryAfterSeconds() + " s", decision)));
+    }
+
+    private Mono<RateLimitDecision> remote(String endpoint, List<Bucket> buckets, String leaseKey) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.fromSupplier(() -> acquireLocally(endpoint, buckets));
+        }
+        List<String> keys = new ArrayList<>(buckets.size());
+        List<String> args = new ArrayList<>(1 + 2 * buckets.size());
+        // Solo se reserva para claves con tráfico repetido dentro del lease-ttl
+        boolean repeated = recentKeys.asMap().putIfAbsent(leaseKey, Boolean.TRUE) != null;
+        args.add(String.valueOf(repeated ? properties.getLeaseSize() : 0));
+        for (Bucket bucket : buckets) {
+            keys.add(bucket.key());
+            args.add(String.valueOf(bucket.bandwidth().getCapacity()));
+            args.add(String.valueOf(bucket.bandwidth().getPeriod().toMillis()));
+        }
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return redisTemplate.execute(ACQUIRE_SCRIPT, keys, args)
+                            .next()
+                            .timeout(properties.getRedisTimeout())
+                            .doOnSuccess(r -> circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                            .doOnError(e -> circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e));
+                })
+                .doOnCancel(circuitBreaker::releasePermission)
+                .map(reply -> {
+                    String[] fields = reply.split(" ");
+                    int granted = Integer.parseInt(fields[0]);
+                    RateLimitDecision decision = new RateLimitDecision(granted > 0, Integer.parseInt(fields[1]),
+                            Integer.parseInt(fields[2]), toSeconds(Long.parseLong(fields[3])),
+                            toSeconds(Long.parseLong(fields[4])));
+                    if (granted > 1) {
+                        leases.put(leaseKey, new Lease(decision, granted - 1));
+                    }
+                    record(endpoint, "redis", decision.allowed());
+                    return decision;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Redis no disponible para el límite de tasa de {}, se aplica el límite local: {}",
+                            endpoint, e.toString());
+                    return Mono.fromSupplier(() -> acquireLocally(endpoint, buckets));
+                });
+    }
+
+    private RateLimitDecision acquireLocally(String endpoint, List<Bucket> buckets) {
+        long now = System.nanoTime();
+        RateLimitDecision tightest = null;
+        List<LocalTokenBucket> taken = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets) {
+            LocalTokenBucket local = localBuckets.get(bucket.key(), k -> new LocalTokenBucket(bucket.bandwidth()));
+            RateLimitDecision decision = local.tryTake(now);
+            if (!decision.allowed()) {
+                // Sin token en un cubo no se consume de ninguno
+                taken.forEach(LocalTokenBucket::refund);
+                tightest = decision;
+                break;
+            }
+            taken.add(local);
+            if (tightest == null || decision.remaining() < tightest.remaining()) {
+                tightest = decision;
+            }
+        }
+        record(endpoint, "local", tightest.allowed());
+        return tightest;
+    }
+
+    private void record(String endpoint, String tier, boolean allowed) {
+        String result = allowed ? "allowed" : "rejected";
+        counters.computeIfAbsent(endpoint + tier + result, k -> Counter.builder("auth.ratelimit.requests")
+                        .description("Solicitudes evaluadas por el límite de tasa")
+                        .tags("endpoint", endpoint, "tier", tier, "result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private static void addBucket(List<Bucket> buckets, Bandwidth bandwidth, String key) {
+        if (bandwidth != null && bandwidth.getCapacity() > 0) {
+            buckets.add(new Bucket(key, bandwidth));
+        }
+    }
+
+    private static long toSeconds(long millis) {
+        return (millis + 999) / 1000;
+    }
+
+    private static Duration longestPeriod(RateLimitProperties properties) {
+        return properties.getEndpoints().values().stream()
+                .flatMap(endpoint -> Stream.of(endpoint.getUser(), endpoint.getIp()))
+                .filter(Objects::nonNull)
+                .map(Bandwidth::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+    }
+
+    private record Bucket(String key, Bandwidth bandwidth) {
+    }
+
+    /**
+     * Tokens reservados en Redis para este nodo. Las cabeceras parten de lo que informó Redis al reservarlos
+     */
+    private static final class Lease {
+        private final RateLimitDecision granted;
+        private final AtomicInteger tokens;
+
+        Lease(RateLimitDecision granted, int tokens) {
+            this.granted = granted;
+            this.tokens = new AtomicInteger(tokens);
+        }
+
+        RateLimitDecision take() {
+            int left = tokens.decrementAndGet();
+            if (left < 0) {
+                return null;
+            }
+            return new RateLimitDecision(true, granted.limit(), granted.remaining() + left,
+                    granted.resetSeconds(), 0);
+        }
+    }
+}
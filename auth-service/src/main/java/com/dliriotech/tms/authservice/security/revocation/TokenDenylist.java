@@ -0,0 +1,22 @@
+package com.dliriotech.tms.authservice.security.revocation;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface TokenDenylist {
+    /**
+     * Revoca el token con el jti indicado hasta su expiración y lo notifica al resto de nodos
+     */
+    Mono<Void> revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * Consulta en memoria: false garantiza que el token no está revocado; true requiere confirmarlo con isRevoked
+     */
+    boolean mightBeRevoked(String tokenId);
+
+    /**
+     * Indica si el token está revocado; solo consulta Redis cuando el filtro local no lo descarta
+     */
+    Mono<Boolean> isRevoked(String tokenId);
+}
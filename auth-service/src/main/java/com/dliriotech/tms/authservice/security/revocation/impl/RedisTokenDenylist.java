@@ -0,0 +1,145 @@
+package com.dliriotech.tms.authservice.security.revocation.impl;
+
+import com.dliriotech.tms.authservice.cache.BloomFilter;
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.ReloadableBloomFilter;
+import com.dliriotech.tms.authservice.config.RevocationProperties;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Lista de tokens revocados en Redis ("rv:" + jti, con TTL hasta la expiración del token) y, en cada nodo,
+ * un filtro de Bloom con esos jti. La validación solo llega a Redis cuando el filtro da positivo.
+ * El filtro se actualiza con las revocaciones publicadas por pub/sub y se reconstruye periódicamente desde Redis.
+ * Hasta la primera reconstrucción el filtro está vacío, así que todas las validaciones consultan Redis.
+ */
+@Component
+@Slf4j
+public class RedisTokenDenylist implements TokenDenylist {
+
+    static final String KEY_PREFIX = "rv:";
+    private static final Mono<Boolean> NOT_REVOKED = Mono.just(false);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final CacheInvalidationBus invalidationBus;
+    private final RevocationProperties properties;
+    private final Counter filterRejections;
+    private final Counter confirmedRevocations;
+    private final Counter falsePositives;
+    private final Counter checkErrors;
+
+    private final ReloadableBloomFilter filter;
+    private volatile boolean loaded;
+    private Disposable resync;
+
+    public RedisTokenDenylist(ReactiveStringRedisTemplate redisTemplate,
+                              CacheInvalidationBus invalidationBus,
+                              RevocationProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+        this.filter = new ReloadableBloomFilter(newFilter());
+        this.filterRejections = checkCounter(meterRegistry, "filter");
+        this.confirmedRevocations = checkCounter(meterRegistry, "revoked");
+        this.falsePositives = checkCounter(meterRegistry, "false_positive");
+        this.checkErrors = checkCounter(meterRegistry, "error");
+    }
+
+    @Override
+    public Mono<Void> revoke(String tokenId, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", ttl)
+                .doOnSuccess(stored -> filter.put(tokenId))
+                .then(invalidationBus.publish(properties.getChannel(), tokenId))
+                .doOnSuccess(v -> log.info("Token {} revocado hasta {}", tokenId, expiresAt));
+    }
+
+    @Override
+    public boolean mightBeRevoked(String tokenId) {
+        return tokenId != null && (!loaded || filter.mightContain(tokenId));
+    }
+
+    @Override
+    public Mono<Boolean> isRevoked(String tokenId) {
+        if (!mightBeRevoked(tokenId)) {
+            filterRejections.increment();
+            return NOT_REVOKED;
+        }
+        return redisTemplate.hasKey(KEY_PREFIX + tokenId)
+                .timeout(properties.getRedisTimeout())
+                .doOnNext(revoked -> (revoked ? confirmedRevocations : falsePositives).increment())
+                .onErrorResume(e -> {
+                    // Sin confirmación posible se rechaza el token: solo afecta a los positivos del filtro
+                    log.warn("No se pudo confirmar la revocación del token {}: {}", tokenId, e.toString());
+                    checkErrors.increment();
+                    return Mono.just(true);
+                });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        invalidationBus.subscribe(properties.getChannel(), filter::put);
+        // Tarea de fondo en boundedElastic: si la conexión con Redis aún no existe, abrirla es bloqueante.
+        // La primera carga se reintenta sin límite: hasta entonces cada validación consulta Redis
+        resync = Flux.interval(Duration.ZERO, properties.getResyncInterval(), Schedulers.boundedElastic())
+                .concatMap(tick -> rebuild()
+                        .retryWhen(loaded
+                                ? Retry.backoff(5, Duration.ofSeconds(1))
+                                : Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                                        .doBeforeRetry(signal -> log.warn("Reintentando la primera carga del filtro "
+                                                + "de tokens revocados: {}", signal.failure().toString())))
+                        .onErrorResume(e -> {
+                            log.warn("No se pudo reconstruir el filtro de tokens revocados: {}", e.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (resync != null) {
+            resync.dispose();
+        }
+    }
+
+    public Mono<Void> rebuild() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        return filter.reload(newFilter(), redisTemplate.scan(options).map(key -> key.substring(KEY_PREFIX.length())))
+                .doOnNext(count -> {
+                    loaded = true;
+                    log.debug("Filtro de tokens revocados reconstruido con {} tokens", count);
+                })
+                .then();
+    }
+
+    private BloomFilter newFilter() {
+        return BloomFilter.create(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.token.revocation.checks")
+                .description("Comprobaciones de revocación en la validación de tokens")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dliriotech.tms.authservice.security.throttle;
+
+import java.time.Duration;
+
+public interface LoginAttemptTracker {
+    /**
+     * Reserva un intento de comprobar la contraseña de userName desde clientIp y devuelve cero, o devuelve el tiempo
+     * que falta para poder intentarlo sin reservar nada. Los intentos reservados cuentan como posibles fallos hasta
+     * llamar a release, para que varios intentos simultáneos no se salten la espera. Con userName o clientIp null
+     * no se cuenta esa clave
+     */
+    Duration reserve(String userName, String clientIp);
+
+    /**
+     * Libera un intento reservado con reserve, una vez registrado su resultado
+     */
+    void release(String userName, String clientIp);
+
+    /**
+     * Cuenta un fallo para el usuario, si existe, y para la IP, si se conoce
+     */
+    void recordFailure(String userName, String clientIp);
+
+    /**
+     * Reinicia los fallos del usuario; los de la IP se mantienen para que una cuenta propia no los borre
+     */
+    void recordSuccess(String userName);
+}
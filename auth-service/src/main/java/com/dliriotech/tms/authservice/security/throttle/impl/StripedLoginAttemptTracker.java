@@ -0,0 +1,296 @@
+package com.dliriotech.tms.authservice.security.throttle.impl;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.UserNames;
+import com.dliriotech.tms.authservice.config.LoginThrottleProperties;
+import com.dliriotech.tms.authservice.security.throttle.LoginAttemptTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Fallos de inicio de sesión por nombre de usuario y por IP en ventanas deslizantes, para esperar de forma
+ * exponencial antes de comprobar la contraseña. Cada contador se modifica bajo uno de los locks de un array fijo
+ * elegido por el hash de la clave: no se crea un lock por clave y dos claves solo compiten si comparten lock.
+ * Las secciones críticas son de unas pocas operaciones aritméticas, así que se usa synchronized y no hay esperas
+ * que bloqueen el event loop. Los intentos en curso cuentan como fallos hasta conocer su resultado; solo se llevan
+ * en el nodo que los atiende.
+ */
+@Component
+@Slf4j
+public class StripedLoginAttemptTracker implements LoginAttemptTracker {
+
+    private static final String FAILURE = "f";
+    private static final String SUCCESS = "s";
+
+    private final LoginThrottleProperties properties;
+    private final CacheInvalidationBus invalidationBus;
+    private final Ticker ticker;
+    private final Object[] stripes;
+    private final Cache<String, SlidingWindow> windows;
+    private final long windowNanos;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter throttledByUser;
+    private final Counter throttledByIp;
+    private final Counter bcryptAvoided;
+
+    @Autowired
+    public StripedLoginAttemptTracker(LoginThrottleProperties properties,
+                                      CacheInvalidationBus invalidationBus,
+                                      MeterRegistry meterRegistry) {
+        this(properties, invalidationBus, meterRegistry, Ticker.systemTicker());
+    }
+
+    public StripedLoginAttemptTracker(LoginThrottleProperties properties,
+                                      CacheInvalidationBus invalidationBus,
+                                      MeterRegistry meterRegistry,
+                                      Ticker ticker) {
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.ticker = ticker;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.stripes = new Object[Integer.highestOneBit(Math.max(1, properties.getStripes() - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+        // Pasadas dos ventanas sin fallos el contador ya vale cero
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(properties.getWindow().multipliedBy(2))
+                .ticker(ticker)
+                .build();
+        Gauge.builder("auth.login.throttle.tracked", windows, Cache::estimatedSize)
+                .description("Usuarios e IP con fallos de inicio de sesión recientes")
+                .register(meterRegistry);
+        this.throttledByUser = throttledCounter(meterRegistry, "user");
+        this.throttledByIp = throttledCounter(meterRegistry, "ip");
+        this.bcryptAvoided = Counter.builder("auth.login.bcrypt.avoided")
+                .description("Comprobaciones de contraseña evitadas por la espera tras fallos")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Duration reserve(String userName, String clientIp) {
+        if (!properties.isEnabled()) {
+            return Duration.ZERO;
+        }
+        long now = ticker.read();
+        // Por IP los intentos en curso solo se limitan agotados los fallos permitidos, para no frenar los inicios de
+        // sesión simultáneos y correctos de una red compartida
+        long userWait = userName != null
+                ? tryReserve(userKey(userName), properties.getUser().getFreeFailures(), true, now) : 0;
+        long ipWait = clientIp != null
+                ? tryReserve(ipKey(clientIp), properties.getIp().getFreeFailures(), false, now) : 0;
+        if (userWait == 0 && ipWait == 0) {
+            return Duration.ZERO;
+        }
+        // Solo se reserva si ninguna de las dos claves obliga a esperar
+        if (userWait == 0 && userName != null) {
+            releaseKey(userKey(userName));
+        }
+        if (ipWait == 0 && clientIp != null) {
+            releaseKey(ipKey(clientIp));
+        }
+        if (userWait > 0) {
+            throttledByUser.increment();
+        }
+        if (ipWait > 0) {
+            throttledByIp.increment();
+        }
+        bcryptAvoided.increment();
+        return Duration.ofNanos(Math.max(userWait, ipWait));
+    }
+
+    @Override
+    public void release(String userName, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (userName != null) {
+            releaseKey(userKey(userName));
+        }
+        if (clientIp != null) {
+            releaseKey(ipKey(clientIp));
+        }
+    }
+
+    @Override
+    public void recordFailure(String userName, String clientIp) {
+        if (!properties.isEnabled() || (userName == null && clientIp == null)) {
+            return;
+        }
+        applyFailure(userName, clientIp);
+        publish(FAILURE, userName, clientIp);
+    }
+
+    @Override
+    public void recordSuccess(String userName) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        windows.invalidate(userKey(userName));
+        publish(SUCCESS, userName, "");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        if (properties.isEnabled() && properties.isReplicate()) {
+            invalidationBus.subscribe(properties.getChannel(), this::onReplicatedAttempt);
+        }
+    }
+
+    // Formato: nodo \n tipo \n ip \n usuario; el usuario va al final porque puede contener cualquier carácter
+    void onReplicatedAttempt(String message) {
+        String[] fields = message.split("\n", 4);
+        if (fields.length != 4) {
+            log.warn("Mensaje de intentos de inicio de sesión ignorado: {}", message);
+            return;
+        }
+        if (nodeId.equals(fields[0])) {
+            return;
+        }
+        String userName = fields[3].isEmpty() ? null : fields[3];
+        if (FAILURE.equals(fields[1])) {
+            applyFailure(userName, fields[2].isEmpty() ? null : fields[2]);
+        } else if (SUCCESS.equals(fields[1]) && userName != null) {
+            windows.invalidate(userKey(userName));
+        }
+    }
+
+    private void applyFailure(String userName, String clientIp) {
+        long now = ticker.read();
+        if (userName != null) {
+            increment(userKey(userName), now);
+        }
+        if (clientIp != null) {
+            increment(ipKey(clientIp), now);
+        }
+    }
+
+    private void increment(String key, long now) {
+        SlidingWindow window = windows.get(key, k -> new SlidingWindow(now));
+        synchronized (stripe(key)) {
+            window.add(now, windowNanos);
+        }
+    }
+
+    /**
+     * Espera pendiente para la clave; si es cero, reserva el intento en la misma sección crítica. Con
+     * limitFreeAttempts, los intentos en curso también consumen los fallos permitidos
+     */
+    private long tryReserve(String key, int freeFailures, boolean limitFreeAttempts, long now) {
+        SlidingWindow window = windows.get(key, k -> new SlidingWindow(now));
+        synchronized (stripe(key)) {
+            int failures = (int) window.estimate(now, windowNanos);
+            long wait = failures < freeFailures ? 0 : Math.max(0, window.lastFailure + delay(failures - freeFailures) - now);
+            // Los intentos en curso pueden acabar en fallo: solo pasan mientras quepan en los fallos permitidos,
+            // y agotados estos, de uno en uno
+            if (wait == 0 && window.inFlight > 0 && (limitFreeAttempts || failures >= freeFailures)
+                    && failures + window.inFlight >= freeFailures) {
+                wait = delay(failures + window.inFlight - freeFailures);
+            }
+            if (wait == 0) {
+                window.inFlight++;
+            }
+            return wait;
+        }
+    }
+
+    private void releaseKey(String key) {
+        SlidingWindow window = windows.getIfPresent(key);
+        if (window == null) {
+            return;
+        }
+        synchronized (stripe(key)) {
+            if (window.inFlight > 0) {
+                window.inFlight--;
+            }
+        }
+    }
+
+    private long delay(int excess) {
+        return Math.min(properties.getMaxDelay().toNanos(), properties.getBaseDelay().toNanos() << Math.min(excess, 30));
+    }
+
+    private void publish(String type, String userName, String clientIp) {
+        if (!properties.isReplicate()) {
+            return;
+        }
+        String message = nodeId + '\n' + type + '\n' + (clientIp == null ? "" : clientIp) + '\n'
+                + (userName == null ? "" : userName);
+        invalidationBus.publish(properties.getChannel(), message)
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+
+    private Object stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Los nombres que MySQL trata como la misma cuenta comparten contador
+    private static String userKey(String userName) {
+        return "u:" + UserNames.normalize(userName);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Intentos de inicio de sesión rechazados por fallos recientes")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Contador de ventana deslizante aproximado: los fallos de la ventana anterior pesan en proporción a la parte
+     * que aún se solapa con la ventana deslizante. Se accede siempre bajo el lock de su clave
+     */
+    private static final class SlidingWindow {
+        private long windowStart;
+        private int previous;
+        private int current;
+        private long lastFailure;
+        private int inFlight;
+
+        SlidingWindow(long now) {
+            this.windowStart = now;
+        }
+
+        void add(long now, long windowNanos) {
+            roll(now, windowNanos);
+            current++;
+            lastFailure = now;
+        }
+
+        double estimate(long now, long windowNanos) {
+            roll(now, windowNanos);
+            double overlap = 1 - (double) (now - windowStart) / windowNanos;
+            return previous * overlap + current;
+        }
+
+        private void roll(long now, long windowNanos) {
+            long elapsedWindows = (now - windowStart) / windowNanos;
+            if (elapsedWindows <= 0) {
+                return;
+            }
+            previous = elapsedWindows == 1 ? current : 0;
+            current = 0;
+            windowStart += elapsedWindows * windowNanos;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authservice.dto.BatchValidationResponse;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface AuthenticationService {
+    Mono<LoginResponse> login(LoginRequest request, String clientIp);
+    Mono<Boolean> validateToken(String token);
+    Mono<BatchValidationResponse> validateTokens(List<String> tokens);
+    Mono<TokenIntrospectionResponse> introspect(String token);
+    Mono<Void> logout(String accessToken, String refreshToken);
+    Mono<Void> revoke(String token);
+}
\ No newline at end of file
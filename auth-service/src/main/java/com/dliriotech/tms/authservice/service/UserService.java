@@ -0,0 +1,18 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authservice.dto.BulkRegisterRequest;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
+import com.dliriotech.tms.authservice.dto.RegisterRequest;
+import com.dliriotech.tms.authservice.dto.UserResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UserService {
+    Mono<UserResponse> register(RegisterRequest request);
+
+    /**
+     * Registra los usuarios a medida que llegan y emite un resultado por fila en el mismo orden; una fila
+     * inválida o repetida no interrumpe la importación
+     */
+    Flux<BulkRegisterResult> registerAll(Flux<BulkRegisterRequest> requests);
+}
\ No newline at end of file
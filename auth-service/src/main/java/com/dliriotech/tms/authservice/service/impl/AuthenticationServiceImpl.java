@@ -0,0 +1,310 @@
+package com.dliriotech.tms.authservice.service.impl;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authservice.cache.EmpresaCache;
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.dto.BatchValidationResponse;
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.dto.TokenValidationResult;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.exception.InvalidCredentialsException;
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import com.dliriotech.tms.authservice.exception.LoginThrottledException;
+import com.dliriotech.tms.authservice.exception.UserNotFoundException;
+import com.dliriotech.tms.authservice.exception.ValidationException;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.UserEmpresaRepository;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenGenerator;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import com.dliriotech.tms.authservice.security.password.PasswordHasher;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.security.throttle.LoginAttemptTracker;
+import com.dliriotech.tms.authservice.service.AuthenticationService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticationServiceImpl implements AuthenticationService {
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int BATCH_PARALLELISM = Schedulers.DEFAULT_POOL_SIZE;
+    private static final String LOGIN = "login";
+    private static final String VALIDATE = "validate";
+
+    private final AuthUserRepository userRepository;
+    private final UserEmpresaRepository userEmpresaRepository;
+    private final EmpresaCache empresaCache;
+    private final MembershipCache membershipCache;
+    private final PasswordHasher passwordHasher;
+    private final JwtProvider jwtProvider;
+    private final SessionTokenCache sessionTokenCache;
+    private final SessionTokenGenerator sessionTokenGenerator;
+    private final Scheduler tokenSigningScheduler;
+    private final TokenDenylist tokenDenylist;
+    private final UserNameFilter userNameFilter;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final StageTimers stageTimers;
+
+    @Observed(name = "login.attempt",
+            contextualName = "authentication.login",
+            lowCardinalityKeyValues = {"service", "auth-service"})
+    @Override
+    public Mono<LoginResponse> login(LoginRequest request, String clientIp) {
+        // Los usuarios que el filtro descarta no llegan a la base de datos y fallan igual que los no encontrados
+        Mono<LoginResponse> login = Mono.defer(() -> userNameFilter.mightExist(request.getUserName())
+                        ? stageTimers.time(LOGIN, "user_lookup", userRepository.findByUserName(request.getUserName()))
+                        : Mono.<AuthUser>empty())
+                .switchIfEmpty(Mono.defer(() -> {
+                    loginAttemptTracker.recordFailure(null, clientIp);
+                    return Mono.error(new UserNotFoundException("Usuario no encontrado: " + request.getUserName()));
+                }))
+                .flatMap(user -> {
+                    // Tras varios fallos seguidos se espera antes de volver a gastar un BCrypt en este usuario o IP.
+                    // El intento queda reservado hasta registrar su resultado, para que los simultáneos también esperen
+                    Duration retryAfter = loginAttemptTracker.reserve(user.getUserName(), clientIp);
+                    if (!retryAfter.isZero()) {
+                        return Mono.error(new LoginThrottledException(
+                                "Demasiados intentos fallidos, reintentar más tarde", retryAfter));
+                    }
+                    return stageTimers.time(LOGIN, "bcrypt_verify",
+                                    passwordHasher.matches(request.getPassword(), user.getPassword()))
+                            .doFinally(signal -> loginAttemptTracker.release(user.getUserName(), clientIp))
+                            .flatMap(matches -> {
+                                if (!matches) {
+                                    loginAttemptTracker.recordFailure(user.getUserName(), clientIp);
+                                    return Mono.error(new InvalidCredentialsException("Contraseña incorrecta"));
+                                }
+                                loginAttemptTracker.recordSuccess(user.getUserName());
+                                rehashIfNeeded(user, request.getPassword());
+
+                                return stageTimers.time(LOGIN, "membership_fetch",
+                                                userEmpresaRepository.findByUserId(user.getId())
+                                                        .map(UserEmpresa::getEmpresaId)
+                                                        .sort()
+                                                        .collectList())
+                                        .doOnNext(empresaIds -> membershipCache.put(user, empresaIds))
+                                        .flatMap(empresaIds -> stageTimers.time(LOGIN, "empresa_fetch",
+                                                empresaCache.getAll(empresaIds)))
+                                        .flatMap(empresas -> {
+                                            if (empresas.isEmpty()) {
+                                                return buildLoginResponse(user, List.of(), null, null, null);
+                                            } else if (empresas.size() == 1) {
+                                                Integer empresaId = empresas.get(0).getId();
+                                                return stageTimers.time(LOGIN, "jwt_sign", Mono.fromCallable(() -> {
+                                                                    String token = jwtProvider.createTokenWithEmpresa(user, empresaId);
+                                                                    String refreshToken = jwtProvider.createRefreshToken(user);
+                                                                    return new String[]{token, refreshToken};
+                                                                })
+                                                                .subscribeOn(tokenSigningScheduler))
+                                                        .flatMap(tokens ->
+                                                                buildLoginResponse(user, empresas, tokens[0], tokens[1], null)
+                                                        );
+                                            } else {
+                                                String sessionToken = sessionTokenGenerator.newToken();
+
+                                                return stageTimers.time(LOGIN, "session_store",
+                                                                sessionTokenCache.store(sessionToken, user.getId(), Duration.ofMinutes(5)))
+                                                        .then(buildLoginResponse(user, empresas, null, null, sessionToken));
+                                            }
+                                        });
+                            });
+                })
+                .doOnSubscribe(s -> log.info("Iniciando sesión para usuario {}", request.getUserName()))
+                .doOnSuccess(r -> log.info("Sesión iniciada correctamente"));
+        // La rama (0, 1 o varias empresas) decide si hay firma de JWT o token de sesión en Redis
+        return stageTimers.time(LOGIN, "total", login, response -> StageTimers.branch(response.getEmpresas().size()));
+    }
+
+    /**
+     * Migra el hash al algoritmo y coste vigentes aprovechando que se conoce la contraseña en claro. Se lanza en
+     * segundo plano para no sumar un hash completo a la respuesta del login; si falla, se reintentará en el siguiente.
+     */
+    private void rehashIfNeeded(AuthUser user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        String currentPassword = user.getPassword();
+        passwordHasher.encode(rawPassword)
+                .flatMap(encodedPassword -> userRepository.updatePassword(user.getId(), currentPassword, encodedPassword)
+                        .filter(updated -> updated > 0)
+                        .doOnNext(updated -> log.info("Hash de contraseña actualizado para usuario {}", user.getId())))
+                .onErrorResume(e -> {
+                    log.warn("No se pudo actualizar el hash de contraseña del usuario {}: {}", user.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .subscribe();
+    }
+
+    private Mono<LoginResponse> buildLoginResponse(AuthUser user, List<EmpresaInfo> empresas, String token, String refreshToken, String sessionToken) {
+        return Mono.just(LoginResponse.builder()
+                .userId(user.getId())
+                .userName(user.getUserName())
+                .role(user.getRole())
+                .empresas(empresas)
+                .token(token)
+                .refreshToken(refreshToken)
+                .sessionToken(sessionToken)
+                .name(user.getName())
+                .lastName(user.getLastName())
+                .build());
+    }
+
+    @Override
+    public Mono<Boolean> validateToken(String token) {
+        return Mono.fromCallable(() -> validateOne(token))
+                .flatMap(this::confirmNotRevoked)
+                .map(result -> {
+                    log.info("Resultado validación: {} ({})", result.isValid(),
+                            result.isValid() ? "token válido con claim id_empresa" : result.getReason());
+                    return result.isValid();
+                });
+    }
+
+    @Override
+    public Mono<BatchValidationResponse> validateTokens(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return Mono.error(new ValidationException("Debe enviar al menos un token"));
+        }
+        if (tokens.size() > MAX_BATCH_SIZE) {
+            return Mono.error(new ValidationException("No se pueden validar más de " + MAX_BATCH_SIZE + " tokens por solicitud"));
+        }
+
+        // Se reparte el lote en bloques, uno por núcleo, y se reensambla en el orden original
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (tokens.size() + BATCH_PARALLELISM - 1) / BATCH_PARALLELISM);
+        return Flux.fromIterable(tokens)
+                .buffer(chunkSize)
+                .flatMapSequential(chunk -> Mono.fromCallable(() -> chunk.stream().map(this::validateOne).toList())
+                        .subscribeOn(Schedulers.parallel()))
+                .flatMapIterable(Function.identity())
+                .collectList()
+                .flatMap(this::confirmNotRevoked)
+                .map(results -> BatchValidationResponse.builder().results(results).build())
+                .doOnSuccess(r -> log.info("Validación por lotes completada para {} tokens", tokens.size()));
+    }
+
+    /**
+     * Mismas comprobaciones que validateToken, incluida la revocación; un token es activo cuando sería válido
+     */
+    @Override
+    public Mono<TokenIntrospectionResponse> introspect(String token) {
+        return Mono.fromCallable(() -> validateOne(token))
+                .flatMap(this::confirmNotRevoked)
+                .map(result -> {
+                    log.info("Resultado introspección: {}", result.isValid() ? "activo" : result.getReason());
+                    return result.isValid()
+                            ? TokenIntrospectionResponse.builder()
+                                    .active(true)
+                                    .sub(result.getUserName())
+                                    .userId(result.getUserId())
+                                    .role(result.getRole())
+                                    .empresaId(result.getEmpresaId())
+                                    .exp(result.getExpiresAt().getEpochSecond())
+                                    .build()
+                            : TokenIntrospectionResponse.inactive();
+                });
+    }
+
+    @Override
+    public Mono<Void> logout(String accessToken, String refreshToken) {
+        return Mono.fromCallable(() -> jwtProvider.parse(accessToken))
+                .flatMap(claims -> revoke(claims)
+                        .then(refreshToken == null ? Mono.empty() : revokeIfValid(refreshToken)))
+                .doOnSuccess(v -> log.info("Sesión cerrada"));
+    }
+
+    @Override
+    public Mono<Void> revoke(String token) {
+        // Como en RFC 7009, un token inválido o ya expirado no es un error: no hay nada que revocar
+        return revokeIfValid(token);
+    }
+
+    private Mono<Void> revokeIfValid(String token) {
+        return Mono.fromCallable(() -> jwtProvider.parse(token))
+                .onErrorResume(InvalidTokenException.class, e -> Mono.empty())
+                .flatMap(this::revoke);
+    }
+
+    private Mono<Void> revoke(TokenClaims claims) {
+        if (claims.tokenId() == null) {
+            log.warn("Token sin jti del usuario {}: no se puede revocar, expira el {}", claims.userId(), claims.expiresAt());
+            return Mono.empty();
+        }
+        return tokenDenylist.revoke(claims.tokenId(), claims.expiresAt());
+    }
+
+    private Mono<List<TokenValidationResult>> confirmNotRevoked(List<Validation> validations) {
+        if (validations.stream().allMatch(v -> v.revocationCandidate() == null)) {
+            return Mono.just(validations.stream().map(Validation::result).toList());
+        }
+        return Flux.fromIterable(validations)
+                .concatMap(this::confirmNotRevoked)
+                .collectList();
+    }
+
+    /**
+     * Solo los tokens válidos que el filtro local no descarta se confirman en Redis
+     */
+    private Mono<TokenValidationResult> confirmNotRevoked(Validation validation) {
+        if (validation.revocationCandidate() == null) {
+            return Mono.just(validation.result());
+        }
+        return stageTimers.time(VALIDATE, "revocation_check", tokenDenylist.isRevoked(validation.revocationCandidate()))
+                .map(revoked -> revoked ? invalid("Token revocado") : validation.result());
+    }
+
+    private Validation validateOne(String token) {
+        TokenClaims claims;
+        try {
+            claims = stageTimers.record(VALIDATE, "jwt_verify", () -> jwtProvider.parse(token));
+        } catch (InvalidTokenException e) {
+            return new Validation(invalid(e.getMessage()), null);
+        }
+
+        if (!claims.hasEmpresa()) {
+            return new Validation(invalid("El token no tiene claim id_empresa"), null);
+        }
+
+        TokenValidationResult result = TokenValidationResult.builder()
+                .valid(true)
+                .userId(claims.userId())
+                .userName(claims.subject())
+                .role(claims.role())
+                .empresaId(claims.empresaId())
+                .expiresAt(claims.expiresAt())
+                .build();
+        return new Validation(result, tokenDenylist.mightBeRevoked(claims.tokenId()) ? claims.tokenId() : null);
+    }
+
+    private static TokenValidationResult invalid(String reason) {
+        return TokenValidationResult.builder()
+                .valid(false)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * Resultado de validar firma y claims; revocationCandidate es el jti a confirmar en Redis, si lo hay
+     */
+    private record Validation(TokenValidationResult result, String revocationCandidate) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.dliriotech.tms.authservice.service.impl;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserMemberships;
+import com.dliriotech.tms.authservice.dto.AuthResponse;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import com.dliriotech.tms.authservice.exception.UnauthorizedException;
+import com.dliriotech.tms.authservice.exception.UserNotFoundException;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.service.TokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenServiceImpl implements TokenService {
+    private static final String GENERATE = "generate";
+    private static final String REFRESH = "refresh";
+
+    private final MembershipCache membershipCache;
+    private final JwtProvider jwtProvider;
+    private final SessionTokenCache sessionTokenCache;
+    private final Scheduler tokenSigningScheduler;
+    private final TokenDenylist tokenDenylist;
+    private final StageTimers stageTimers;
+
+    @Override
+    public Mono<AuthResponse> generateToken(Integer userId, Integer empresaId, String sessionToken) {
+        // Validar y eliminar el token de sesión es una sola operación atómica en Redis: una única etapa
+        Mono<AuthResponse> generate = stageTimers.time(GENERATE, "session_consume",
+                        sessionTokenCache.consume(sessionToken, userId))
+                .flatMap(consumed -> {
+                    if (!consumed) {
+                        return Mono.error(new UnauthorizedException("Sesión inválida o expirada"));
+                    }
+                    return stageTimers.time(GENERATE, "membership_fetch", membershipCache.get(userId, empresaId))
+                            .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario no encontrado")))
+                            .flatMap(memberships -> createTokens(GENERATE, memberships, empresaId));
+                })
+                .doOnSubscribe(s -> log.info("Generando token para usuario {}", userId))
+                .doOnSuccess(r -> log.info("Token generado exitosamente"))
+                .doOnError(e -> log.error("Error al generar token", e));
+        return stageTimers.time(GENERATE, "total", generate);
+    }
+
+    @Override
+    public Mono<AuthResponse> refreshToken(String refreshToken, Integer empresaId) {
+        Mono<AuthResponse> refresh = Mono.fromCallable(() -> {
+                    TokenClaims claims = stageTimers.record(REFRESH, "jwt_verify", () -> jwtProvider.parse(refreshToken));
+                    if (!claims.isRefreshToken()) {
+                        throw new InvalidTokenException("El token proporcionado no es un token de refresco válido");
+                    }
+                    return claims;
+                })
+                .flatMap(claims -> stageTimers.time(REFRESH, "revocation_check", tokenDenylist.isRevoked(claims.tokenId()))
+                        .flatMap(revoked -> revoked
+                                ? Mono.<Integer>error(new InvalidTokenException("Token revocado"))
+                                : Mono.just(claims.userId())))
+                .flatMap(userId -> stageTimers.time(REFRESH, "membership_fetch", membershipCache.get(userId, empresaId)))
+                .switchIfEmpty(Mono.error(new UserNotFoundException("Usuario asociado al token no encontrado")))
+                .flatMap(memberships -> createTokens(REFRESH, memberships, empresaId))
+                .doOnSubscribe(s -> log.info("Actualizando token con empresaId: {}", empresaId))
+                .doOnSuccess(r -> log.info("Token actualizado exitosamente"))
+                .doOnError(e -> log.error("Error al refrescar token", e));
+        return stageTimers.time(REFRESH, "total", refresh);
+    }
+
+    private Mono<AuthResponse> createTokens(String pipeline, UserMemberships memberships, Integer empresaId) {
+        if (!memberships.contains(empresaId)) {
+            return Mono.error(new UnauthorizedException("El usuario no tiene acceso a esta empresa"));
+        }
+        return stageTimers.time(pipeline, "jwt_sign", Mono.fromCallable(() -> {
+            AuthUser user = memberships.toUser();
+            return AuthResponse.builder()
+                    .token(jwtProvider.createTokenWithEmpresa(user, empresaId))
+                    .refreshToken(jwtProvider.createRefreshToken(user))
+                    .build();
+        }).subscribeOn(tokenSigningScheduler));
+    }
+}
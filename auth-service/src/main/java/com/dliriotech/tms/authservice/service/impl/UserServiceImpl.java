@@ -0,0 +1,231 @@
+package com.dliriotech.tms.authservice.service.impl;
+
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.config.BulkImportProperties;
+import com.dliriotech.tms.authservice.dto.BulkRegisterRequest;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
+import com.dliriotech.tms.authservice.dto.RegisterRequest;
+import com.dliriotech.tms.authservice.dto.UserResponse;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.exception.BaseException;
+import com.dliriotech.tms.authservice.exception.ServiceOverloadedException;
+import com.dliriotech.tms.authservice.exception.UserAlreadyExistsException;
+import com.dliriotech.tms.authservice.exception.ValidationException;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRouting;
+import com.dliriotech.tms.authservice.security.password.PasswordHasher;
+import com.dliriotech.tms.authservice.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserServiceImpl implements UserService {
+    private static final String REGISTER = "register";
+    private static final String BULK_REGISTER = "bulk_register";
+
+    private final AuthUserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final UserNameFilter userNameFilter;
+    private final StageTimers stageTimers;
+    private final Validator validator;
+    private final TransactionalOperator transactionalOperator;
+    private final BulkImportProperties bulkImportProperties;
+    private final ReplicaRouting replicaRouting;
+
+    @Override
+    public Mono<UserResponse> register(RegisterRequest request) {
+        // Si el filtro descarta el nombre no hace falta comprobarlo; la restricción UNIQUE cubre las carreras
+        Mono<UserResponse> register = Mono.defer(() -> userNameFilter.mightExist(request.getUserName())
+                        ? stageTimers.time(REGISTER, "user_lookup",
+                                userRepository.findByUserName(request.getUserName()).hasElement())
+                        : Mono.just(false))
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new UserAlreadyExistsException("El usuario " + request.getUserName() + " ya existe"));
+                    }
+                    return stageTimers.time(REGISTER, "bcrypt_hash", passwordHasher.encode(request.getPassword()))
+                            .map(encodedPassword -> AuthUser.builder()
+                                    .userName(request.getUserName())
+                                    .password(encodedPassword)
+                                    .role(request.getRole())
+                                    .name(request.getName())
+                                    .lastName(request.getLastName())
+                                    .phoneNumber(request.getPhoneNumber())
+                                    .email(request.getEmail())
+                                    .build())
+                            .flatMap(user -> stageTimers.time(REGISTER, "user_insert", userRepository.save(user)
+                                            .onErrorMap(DataIntegrityViolationException.class, e ->
+                                                    new UserAlreadyExistsException("El usuario " + request.getUserName() + " ya existe")))
+                                    // Las lecturas de este usuario van al primario hasta que la réplica lo tenga
+                                    .doOnNext(savedUser -> replicaRouting.markWritten(savedUser.getUserName(), savedUser.getId()))
+                                    .flatMap(savedUser -> userNameFilter.add(savedUser.getUserName()).thenReturn(savedUser))
+                                    .flatMap(savedUser ->
+                                            Mono.fromCallable(() ->
+                                                    UserResponse.builder()
+                                                            .id(savedUser.getId())
+                                                            .userName(savedUser.getUserName())
+                                                            .role(savedUser.getRole())
+                                                            .build()
+                                            )
+                                    ));
+                })
+                .doOnSubscribe(s -> log.info("Registrando usuario {}", request.getUserName()))
+                .doOnSuccess(r -> log.info("Usuario registrado"))
+                .onErrorResume(throwable -> {
+                    log.error("Error al registrar usuario", throwable);
+                    if (throwable instanceof BaseException) {
+                        return Mono.error(throwable);
+                    }
+                    return Mono.error(new RuntimeException("Error al registrar usuario"));
+                });
+        return stageTimers.time(REGISTER, "total", register);
+    }
+
+    @Override
+    public Flux<BulkRegisterResult> registerAll(Flux<BulkRegisterRequest> requests) {
+        // El cuerpo se lee según se consume: como mucho hashParallelism hashes en curso y un lote en memoria.
+        // Pasado maxRows se rechaza la primera fila sobrante y se deja de leer
+        int maxRows = bulkImportProperties.getMaxRows();
+        return requests
+                .take(maxRows + 1L)
+                .index((index, request) -> index < maxRows
+                        ? new PendingUser(index + 1, request, null, null)
+                        : new PendingUser(index + 1, request, null, null).failed(new ValidationException(
+                                "No se pueden importar más de " + maxRows + " usuarios por solicitud")))
+                .flatMapSequential(this::hash, bulkImportProperties.getHashParallelism())
+                .bufferTimeout(bulkImportProperties.getBatchSize(), bulkImportProperties.getBatchTimeout(), true)
+                .concatMap(this::insertBatch)
+                .doOnSubscribe(s -> log.info("Iniciando importación masiva de usuarios"))
+                .doOnComplete(() -> log.info("Importación masiva de usuarios completada"));
+    }
+
+    private Mono<PendingUser> hash(PendingUser pending) {
+        if (pending.result() != null) {
+            return Mono.just(pending);
+        }
+        BulkRegisterRequest request = pending.request();
+        Set<ConstraintViolation<BulkRegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            return Mono.just(pending.failed(new ValidationException(message)));
+        }
+        // Si la cola de hashing está llena por los inicios de sesión, la importación espera en lugar de fallar
+        return stageTimers.time(BULK_REGISTER, "bcrypt_hash", passwordHasher.encode(request.getPassword()))
+                .retryWhen(Retry.backoff(bulkImportProperties.getHashRetries(), Duration.ofMillis(100))
+                        .filter(ServiceOverloadedException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .map(encodedPassword -> pending.withUser(AuthUser.builder()
+                        .userName(request.getUserName())
+                        .password(encodedPassword)
+                        .role(request.getRole())
+                        .name(request.getName())
+                        .lastName(request.getLastName())
+                        .phoneNumber(request.getPhoneNumber())
+                        .email(request.getEmail())
+                        .build()))
+                .onErrorResume(e -> Mono.just(pending.failed(e)));
+    }
+
+    /**
+     * Un INSERT de varias filas por lote. Si falla, normalmente por un nombre repetido, se repite fila a fila
+     * para identificar las filas rechazadas: la restricción UNIQUE sustituye a la consulta de existencia
+     */
+    private Flux<BulkRegisterResult> insertBatch(List<PendingUser> batch) {
+        List<PendingUser> pending = batch.stream().filter(p -> p.user() != null).toList();
+        return stageTimers.time(BULK_REGISTER, "batch_insert", insert(pending))
+                .onErrorResume(e -> {
+                    log.warn("Lote de {} usuarios rechazado, se insertan uno a uno: {}", pending.size(), e.getMessage());
+                    return Flux.fromIterable(pending)
+                            .concatMap(p -> stageTimers.time(BULK_REGISTER, "row_insert", insert(List.of(p)))
+                                    .onErrorResume(error -> Mono.just(List.of(p.failed(error).result()))))
+                            .flatMapIterable(Function.identity())
+                            .collectList();
+                })
+                .flatMapIterable(inserted -> {
+                    Map<Long, BulkRegisterResult> byLine = inserted.stream()
+                            .collect(Collectors.toMap(BulkRegisterResult::getLine, Function.identity()));
+                    return batch.stream()
+                            .map(p -> p.result() != null ? p.result() : byLine.get(p.line()))
+                            .toList();
+                });
+    }
+
+    private Mono<List<BulkRegisterResult>> insert(List<PendingUser> pending) {
+        if (pending.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<AuthUser> users = pending.stream().map(PendingUser::user).toList();
+        return userRepository.insertAll(users)
+                .onErrorMap(DataIntegrityViolationException.class, e ->
+                        new UserAlreadyExistsException("El usuario ya existe"))
+                .then(Mono.defer(() -> userRepository.insertMemberships(pending.stream()
+                                .flatMap(p -> p.empresaIds().stream()
+                                        .map(empresaId -> new UserEmpresa(p.user().getId(), empresaId)))
+                                .toList()))
+                        .onErrorMap(DataIntegrityViolationException.class, e ->
+                                new ValidationException("Empresa inexistente")))
+                .as(transactionalOperator::transactional)
+                .thenMany(Flux.fromIterable(users))
+                .doOnNext(user -> replicaRouting.markWritten(user.getUserName(), user.getId()))
+                .concatMap(user -> userNameFilter.add(user.getUserName()))
+                .then(Mono.fromSupplier(() -> pending.stream()
+                        .map(p -> BulkRegisterResult.builder()
+                                .line(p.line())
+                                .userName(p.user().getUserName())
+                                .id(p.user().getId())
+                                .status(HttpStatus.CREATED.value())
+                                .build())
+                        .toList()));
+    }
+
+    /**
+     * Fila de la importación: user cuando ya tiene el hash listo para insertarse, result cuando ya falló
+     */
+    private record PendingUser(long line, BulkRegisterRequest request, AuthUser user, BulkRegisterResult result) {
+
+        PendingUser withUser(AuthUser user) {
+            return new PendingUser(line, request, user, null);
+        }
+
+        PendingUser failed(Throwable error) {
+            BaseException baseException = error instanceof BaseException b ? b : null;
+            return new PendingUser(line, request, null, BulkRegisterResult.builder()
+                    .line(line)
+                    .userName(request.getUserName())
+                    .status(baseException != null ? baseException.getStatus().value()
+                            : HttpStatus.INTERNAL_SERVER_ERROR.value())
+                    .code(StageTimers.outcome(error))
+                    .message(baseException != null ? baseException.getMessage() : "Error interno del servidor")
+                    .build());
+        }
+
+        List<Integer> empresaIds() {
+            List<Integer> empresaIds = request.getEmpresaIds();
+            return empresaIds == null ? List.of() : empresaIds.stream().filter(Objects::nonNull).distinct().toList();
+        }
+    }
+}
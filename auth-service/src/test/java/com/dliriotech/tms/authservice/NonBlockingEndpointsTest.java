@@ -0,0 +1,264 @@
+package com.dliriotech.tms.authservice;
+
+import com.dliriotech.tms.authservice.dto.AuthResponse;
+import com.dliriotech.tms.authservice.dto.BatchValidationRequest;
+import com.dliriotech.tms.authservice.dto.BatchValidationResponse;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.dto.RegisterRequest;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.support.InMemorySessionTokenCache;
+import com.dliriotech.tms.authservice.support.InMemoryTokenDenylist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Recorre los endpoints por HTTP con BlockHound activo (blockhound-junit-platform): cualquier llamada bloqueante
+ * en un hilo de Netty o de un scheduler no bloqueante hace fallar la petición.
+ */
+// Los inicios de sesión simultáneos de un mismo usuario cuentan como posibles fallos: se admiten los 8 en curso
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "login.throttle.user.free-failures=8")
+@ActiveProfiles("test")
+class NonBlockingEndpointsTest {
+
+    @TestBean
+    private SessionTokenCache sessionTokenCache;
+
+    @TestBean
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    static SessionTokenCache sessionTokenCache() {
+        return new InMemorySessionTokenCache();
+    }
+
+    static TokenDenylist tokenDenylist() {
+        return new InMemoryTokenDenylist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM user_empresas").then()
+                .then(databaseClient.sql("DELETE FROM auth_user").then())
+                .then(databaseClient.sql("DELETE FROM empresas").then())
+                .block();
+    }
+
+    @Test
+    void blockHoundIsInstalled() {
+        StepVerifier.create(Mono.fromCallable(() -> {
+                            Thread.sleep(1);
+                            return true;
+                        })
+                        .subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingOperationError.class)
+                .verify();
+    }
+
+    @Test
+    void authFlowDoesNotBlock() {
+        // Arrange
+        register("no-bloqueante");
+        Integer userId = databaseClient.sql("SELECT id FROM auth_user WHERE user_name = 'no-bloqueante'")
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+        List<Integer> empresaIds = List.of(insertEmpresa("Uno"), insertEmpresa("Dos"));
+        empresaIds.forEach(empresaId -> databaseClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (:userId, :empresaId)")
+                .bind("userId", userId)
+                .bind("empresaId", empresaId)
+                .then()
+                .block());
+
+        // Act & Assert: login con varias empresas, generate, refresh, validate y validate/batch
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("no-bloqueante");
+        loginRequest.setPassword("password");
+        LoginResponse login = webTestClient.post().uri("/api/auth/login")
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(login.getSessionToken());
+
+        AuthResponse generated = webTestClient.post()
+                .uri(uri -> uri.path("/api/tokens/generate")
+                        .queryParam("userId", userId)
+                        .queryParam("empresaId", empresaIds.get(0))
+                        .queryParam("sessionToken", login.getSessionToken())
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        AuthResponse refreshed = webTestClient.post()
+                .uri(uri -> uri.path("/api/tokens/refresh").queryParam("empresaId", empresaIds.get(1)).build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + generated.getRefreshToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.get().uri("/api/auth/validate")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + refreshed.getToken())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class).isEqualTo(true);
+
+        BatchValidationRequest batch = new BatchValidationRequest();
+        batch.setTokens(List.of(generated.getToken(), refreshed.getToken(), "no-es-un-token"));
+        webTestClient.post().uri("/api/auth/validate/batch")
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BatchValidationResponse.class)
+                .value(response -> assertEquals(List.of(true, true, false),
+                        response.getResults().stream().map(result -> result.isValid()).toList()));
+    }
+
+    @Test
+    void concurrentLoginsDoNotBlock() {
+        // Arrange: con concurrencia aparecen contención de locks y continuaciones en hilos de Netty
+        register("concurrente");
+        Integer userId = databaseClient.sql("SELECT id FROM auth_user WHERE user_name = 'concurrente'")
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+        for (String nombre : List.of("Uno", "Dos")) {
+            databaseClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (:userId, :empresaId)")
+                    .bind("userId", userId)
+                    .bind("empresaId", insertEmpresa(nombre))
+                    .then()
+                    .block();
+        }
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName("concurrente");
+        loginRequest.setPassword("password");
+
+        // Act & Assert: WebTestClient espera la respuesta bloqueando, así que cada petición sale de boundedElastic.
+        WebTestClient client = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> Mono.fromRunnable(() -> client.post().uri("/api/auth/login")
+                                        .bodyValue(loginRequest)
+                                        .exchange()
+                                        .expectStatus().isOk())
+                                .subscribeOn(Schedulers.boundedElastic()), 8))
+                .verifyComplete();
+    }
+
+    @Test
+    void bulkImport_shouldRequireAnAdminToken() {
+        // Arrange
+        String rows = "{\"userName\":\"importado\",\"password\":\"password\",\"role\":\"OPERADOR\","
+                + "\"name\":\"Nombre\",\"lastName\":\"Apellido\",\"phoneNumber\":\"987654321\"}\n";
+        Integer empresaId = insertEmpresa("Uno");
+        String operatorToken = accessToken("operador", "OPERADOR", empresaId);
+        String adminToken = accessToken("administrador", "ADMIN", empresaId);
+
+        // Act & Assert: sin token, con un rol sin permiso y con un administrador
+        webTestClient.post().uri("/api/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(rows)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        webTestClient.post().uri("/api/users/bulk")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + operatorToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(rows)
+                .exchange()
+                .expectStatus().isForbidden();
+        webTestClient.post().uri("/api/users/bulk")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(rows)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BulkRegisterResult.class)
+                .value(results -> assertEquals(List.of(201), results.stream().map(BulkRegisterResult::getStatus).toList()));
+    }
+
+    private String accessToken(String userName, String role, Integer empresaId) {
+        register(userName, role);
+        Integer userId = databaseClient.sql("SELECT id FROM auth_user WHERE user_name = :userName")
+                .bind("userName", userName)
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+        databaseClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (:userId, :empresaId)")
+                .bind("userId", userId)
+                .bind("empresaId", empresaId)
+                .then()
+                .block();
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUserName(userName);
+        loginRequest.setPassword("password");
+        // Con una sola empresa el login ya devuelve el token de acceso
+        return webTestClient.post().uri("/api/auth/login")
+                .bodyValue(loginRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(LoginResponse.class)
+                .returnResult()
+                .getResponseBody()
+                .getToken();
+    }
+
+    private void register(String userName) {
+        register(userName, "OPERADOR");
+    }
+
+    private void register(String userName, String role) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUserName(userName);
+        request.setPassword("password");
+        request.setRole(role);
+        request.setName("Nombre");
+        request.setLastName("Apellido");
+        request.setPhoneNumber("987654321");
+        webTestClient.post().uri("/api/users/register")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+    }
+
+    private Integer insertEmpresa(String nombre) {
+        return databaseClient.sql("INSERT INTO empresas (nombre, email) VALUES (:nombre, 'empresa@correo.com')")
+                .bind("nombre", nombre)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,36 @@
+package com.dliriotech.tms.authservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("revocado-" + i));
+
+        // Act
+        boolean allFound = IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("revocado-" + i));
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("vigente-" + i)).count();
+
+        // Assert
+        assertTrue(allFound);
+        assertTrue(falsePositives < 300, "Falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void create_shouldSizeFilterForFalsePositiveRate() {
+        // Act
+        BloomFilter filter = BloomFilter.create(100_000, 0.001);
+
+        // Assert
+        assertEquals(1_437_759, filter.bitCount());
+        assertEquals(10, filter.hashCount());
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.001));
+    }
+}
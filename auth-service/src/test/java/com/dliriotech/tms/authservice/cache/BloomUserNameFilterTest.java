@@ -0,0 +1,79 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.cache.impl.BloomUserNameFilter;
+import com.dliriotech.tms.authservice.config.UserNameFilterProperties;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BloomUserNameFilterTest {
+
+    @Mock
+    private AuthUserRepository userRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BloomUserNameFilter userNameFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userNameFilter = new BloomUserNameFilter(userRepository, invalidationBus, new UserNameFilterProperties(),
+                meterRegistry);
+    }
+
+    @Test
+    void mightExist_beforeFirstRebuild_shouldLetEveryUserThrough() {
+        // Act & Assert
+        assertTrue(userNameFilter.mightExist("desconocido"));
+    }
+
+    @Test
+    void mightExist_afterRebuild_shouldRejectUnknownUsersAndMatchLikeTheDatabase() {
+        // Arrange
+        when(userRepository.count()).thenReturn(Mono.just(2L));
+        when(userRepository.findAllUserNames()).thenReturn(Flux.just("José", "admin"));
+
+        // Act
+        StepVerifier.create(userNameFilter.rebuild()).verifyComplete();
+
+        // Assert: mayúsculas, tildes y espacios finales no distinguen usuarios en MySQL
+        assertTrue(userNameFilter.mightExist("jose"));
+        assertTrue(userNameFilter.mightExist("ADMIN "));
+        assertFalse(userNameFilter.mightExist("desconocido"));
+        assertEquals(1.0, meterRegistry.get("auth.username.filter.checks").tag("result", "rejected").counter().count());
+        assertEquals(1L, meterRegistry.get("auth.username.filter.rebuild").timer().count());
+        assertTrue(meterRegistry.get("auth.username.filter.size").gauge().value() > 0);
+    }
+
+    @Test
+    void add_afterRebuild_shouldAcceptNewUserEvenIfPublishFails() {
+        // Arrange
+        when(userRepository.count()).thenReturn(Mono.just(0L));
+        when(userRepository.findAllUserNames()).thenReturn(Flux.empty());
+        when(invalidationBus.publish(anyString(), eq("nuevo"))).thenReturn(Mono.error(new IllegalStateException("redis")));
+        userNameFilter.rebuild().block();
+
+        // Act
+        StepVerifier.create(userNameFilter.add("nuevo")).verifyComplete();
+
+        // Assert
+        assertTrue(userNameFilter.mightExist("nuevo"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.cache.impl.CaffeineEmpresaCache;
+import com.dliriotech.tms.authservice.config.EmpresaCacheProperties;
+import com.dliriotech.tms.authservice.entity.Empresa;
+import com.dliriotech.tms.authservice.repository.EmpresaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineEmpresaCacheTest {
+
+    @Mock
+    private EmpresaRepository empresaRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CaffeineEmpresaCache empresaCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        empresaCache = new CaffeineEmpresaCache(empresaRepository, invalidationBus, new EmpresaCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void getAll_shouldLoadOnlyMissingEmpresasInOneQueryAndKeepOrder() {
+        // Arrange
+        when(empresaRepository.findAllById(List.of(2, 1)))
+                .thenReturn(Flux.just(new Empresa(1, "Uno", "uno@correo.com"), new Empresa(2, "Dos", "dos@correo.com")));
+        when(empresaRepository.findAllById(List.of(3)))
+                .thenReturn(Flux.just(new Empresa(3, "Tres", "tres@correo.com")));
+
+        // Act & Assert
+        StepVerifier.create(empresaCache.getAll(List.of(2, 1)))
+                .expectNextMatches(empresas -> empresas.get(0).getId() == 2 && empresas.get(1).getId() == 1)
+                .verifyComplete();
+
+        StepVerifier.create(empresaCache.getAll(List.of(1, 2, 3)))
+                .expectNextMatches(empresas -> empresas.size() == 3 && empresas.get(2).getNombre().equals("Tres"))
+                .verifyComplete();
+
+        StepVerifier.create(empresaCache.getAll(List.of(3, 2, 1)))
+                .expectNextMatches(empresas -> empresas.size() == 3)
+                .verifyComplete();
+
+        verify(empresaRepository, times(2)).findAllById(anyList());
+        assertEquals(5.0, meterRegistry.get("cache.gets").tag("cache", "empresas").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(3.0, meterRegistry.get("cache.gets").tag("cache", "empresas").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void invalidate_shouldEvictLocallyAndPublishToOtherNodes() {
+        // Arrange
+        when(empresaRepository.findAllById(List.of(1)))
+                .thenReturn(Flux.just(new Empresa(1, "Uno", "uno@correo.com")))
+                .thenReturn(Flux.just(new Empresa(1, "Uno renombrada", "uno@correo.com")));
+        when(invalidationBus.publish("tms:empresa:invalidate", "1")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(empresaCache.getAll(List.of(1))).expectNextCount(1).verifyComplete();
+        StepVerifier.create(empresaCache.invalidate(1)).verifyComplete();
+        StepVerifier.create(empresaCache.getAll(List.of(1)))
+                .expectNextMatches(empresas -> empresas.get(0).getNombre().equals("Uno renombrada"))
+                .verifyComplete();
+
+        verify(invalidationBus).publish("tms:empresa:invalidate", "1");
+        verify(empresaRepository, times(2)).findAllById(List.of(1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.dliriotech.tms.authservice.cache;
+
+import com.dliriotech.tms.authservice.cache.impl.CaffeineMembershipCache;
+import com.dliriotech.tms.authservice.config.MembershipCacheProperties;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.UserEmpresaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CaffeineMembershipCacheTest {
+
+    @Mock
+    private AuthUserRepository userRepository;
+
+    @Mock
+    private UserEmpresaRepository userEmpresaRepository;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private MembershipCacheProperties properties;
+
+    private CaffeineMembershipCache membershipCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MembershipCacheProperties();
+        membershipCache = new CaffeineMembershipCache(userRepository, userEmpresaRepository, invalidationBus,
+                properties, new SimpleMeterRegistry());
+    }
+
+    private static AuthUser user() {
+        return AuthUser.builder().id(1).userName("usuario").role("ADMIN").password("encoded").build();
+    }
+
+    @Test
+    void get_afterLogin_shouldNotQueryDatabase() {
+        // Arrange
+        membershipCache.put(user(), List.of(3, 1, 2));
+
+        // Act & Assert
+        StepVerifier.create(membershipCache.get(1, 2))
+                .expectNextMatches(m -> m.contains(2) && !m.contains(4) && m.toUser().getUserName().equals("usuario"))
+                .verifyComplete();
+
+        verifyNoInteractions(userRepository, userEmpresaRepository);
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeFromCache() {
+        // Arrange
+        when(userRepository.findById(1)).thenReturn(Mono.just(user()));
+        when(userEmpresaRepository.findByUserId(1)).thenReturn(Flux.just(new UserEmpresa(1, 5)));
+
+        // Act & Assert
+        StepVerifier.create(membershipCache.get(1, 5)).expectNextMatches(m -> m.contains(5)).verifyComplete();
+        StepVerifier.create(membershipCache.get(1, 5)).expectNextMatches(m -> m.contains(5)).verifyComplete();
+
+        verify(userRepository, times(1)).findById(1);
+        verify(userEmpresaRepository, times(1)).findByUserId(1);
+    }
+
+    @Test
+    void get_withUnknownUser_shouldCacheNegativeEntry() {
+        // Arrange
+        when(userRepository.findById(9)).thenReturn(Mono.empty());
+        when(userEmpresaRepository.findByUserId(9)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(membershipCache.get(9, 1)).verifyComplete();
+        StepVerifier.create(membershipCache.get(9, 1)).verifyComplete();
+
+        verify(userRepository, times(1)).findById(9);
+    }
+
+    @Test
+    void get_withMissingEmpresaOnStaleEntry_shouldReloadToPickUpNewMembership() {
+        // Arrange
+        properties.setNegativeTtl(Duration.ZERO);
+        membershipCache.put(user(), List.of(1));
+        when(userRepository.findById(1)).thenReturn(Mono.just(user()));
+        when(userEmpresaRepository.findByUserId(1))
+                .thenReturn(Flux.just(new UserEmpresa(1, 1), new UserEmpresa(1, 2)));
+
+        // Act & Assert
+        StepVerifier.create(membershipCache.get(1, 2)).expectNextMatches(m -> m.contains(2)).verifyComplete();
+    }
+
+    @Test
+    void invalidate_shouldForceReloadAndNotifyOtherNodes() {
+        // Arrange
+        membershipCache.put(user(), List.of(1));
+        when(invalidationBus.publish("tms:membership:invalidate", "1")).thenReturn(Mono.empty());
+        when(userRepository.findById(1)).thenReturn(Mono.just(user()));
+        when(userEmpresaRepository.findByUserId(1)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(membershipCache.invalidate(1)).verifyComplete();
+        StepVerifier.create(membershipCache.get(1, 1)).expectNextMatches(m -> !m.contains(1)).verifyComplete();
+
+        verify(invalidationBus).publish("tms:membership:invalidate", "1");
+    }
+}
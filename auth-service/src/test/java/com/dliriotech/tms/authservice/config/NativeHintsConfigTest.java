@@ -0,0 +1,51 @@
+package com.dliriotech.tms.authservice.config;
+
+import com.dliriotech.tms.authservice.dto.ErrorResponse;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsConfigTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeHintsConfig.AuthServiceRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeHintsConfig.class);
+    }
+
+    @Test
+    void registerHints_shouldCoverEntitiesAndJjwtImplementation() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(AuthUser.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(
+                TypeReference.of("io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms")).test(hints));
+    }
+
+    @Test
+    void registerHints_jjwtTypesShouldExistInTheClasspath() {
+        // Assert: una actualización de jjwt que renombre clases dejaría la imagen nativa sin ellas
+        hints.reflection().typeHints()
+                .filter(hint -> hint.getType().getName().startsWith("io.jsonwebtoken"))
+                .forEach(hint -> assertTrue(ClassUtils.isPresent(hint.getType().getName(), null),
+                        hint.getType().getName()));
+    }
+
+    @Test
+    void registerReflectionForBinding_shouldCoverDtosOutsideControllerSignatures() {
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ErrorResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ErrorResponse.class, "getCode").test(hints));
+    }
+}
@@ -0,0 +1,37 @@
+package com.dliriotech.tms.authservice.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class ReadReplicaConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ReadReplicaConfig.class);
+
+    @Test
+    void start_whenReplicaIsDisabledAndNotCompiledIn_shouldStart() {
+        // Act & Assert
+        contextRunner.withPropertyValues("db.replica.enabled=false")
+                .run(context -> assertNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void start_whenRuntimeFlagDisagreesWithCompiledRouting_shouldFailFast() {
+        // Arrange: como una imagen AOT compilada con réplica y arrancada sin ella
+        contextRunner.withPropertyValues("db.replica.enabled=false")
+                .withBean(ReadReplicaConfig.REPLICA_CONNECTION_FACTORY, ConnectionFactory.class,
+                        () -> mock(ConnectionFactory.class))
+                // Act & Assert
+                .run(context -> {
+                    Throwable failure = context.getStartupFailure();
+                    assertInstanceOf(IllegalStateException.class, failure);
+                    assertTrue(failure.getMessage().contains("REPLICA_ENABLED=false"));
+                });
+    }
+}
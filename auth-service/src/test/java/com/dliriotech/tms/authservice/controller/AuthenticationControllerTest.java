@@ -0,0 +1,169 @@
+package com.dliriotech.tms.authservice.controller;
+
+import com.dliriotech.tms.authservice.config.ClientAddressProperties;
+import com.dliriotech.tms.authservice.config.IntrospectionProperties;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.exception.GlobalExceptionHandlerConfigurer;
+import com.dliriotech.tms.authservice.security.ratelimit.ClientAddress;
+import com.dliriotech.tms.authservice.security.ratelimit.RequestRateLimiter;
+import com.dliriotech.tms.authservice.service.AuthenticationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationControllerTest {
+
+    @Mock
+    private AuthenticationService authenticationService;
+
+    @Mock
+    private RequestRateLimiter rateLimiter;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient
+                .bindToController(new AuthenticationController(authenticationService, rateLimiter,
+                        new IntrospectionProperties(), new ClientAddress(new ClientAddressProperties())))
+                .apply(new GlobalExceptionHandlerConfigurer())
+                .build();
+    }
+
+    @Test
+    void introspect_whenActive_shouldBeCacheableUntilTheCapAndSupportConditionalRequests() {
+        // Arrange: al token le queda una hora, más que el tope de 5 minutos
+        when(authenticationService.introspect("token")).thenReturn(Mono.just(TokenIntrospectionResponse.builder()
+                .active(true)
+                .sub("usuario")
+                .userId(7)
+                .role("ADMIN")
+                .empresaId(3)
+                .exp(Instant.now().plusSeconds(3600).getEpochSecond())
+                .build()));
+
+        // Act & Assert
+        String etag = client.get().uri("/api/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePrivate())
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION)
+                .expectBody()
+                .jsonPath("$.active").isEqualTo(true)
+                .jsonPath("$.sub").isEqualTo("usuario")
+                .jsonPath("$.id").isEqualTo(7)
+                .jsonPath("$.id_empresa").isEqualTo(3)
+                .jsonPath("$.exp").isNumber()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        client.get().uri("/api/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void introspect_whenActiveAndCloseToExpiry_shouldCacheForRemainingLifetime() {
+        // Arrange
+        when(authenticationService.introspect("token")).thenReturn(Mono.just(TokenIntrospectionResponse.builder()
+                .active(true)
+                .exp(Instant.now().plusSeconds(30).getEpochSecond())
+                .build()));
+
+        // Act & Assert
+        String cacheControl = client.get().uri("/api/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getCacheControl();
+        long maxAge = Long.parseLong(cacheControl.replaceAll(".*max-age=(\\d+).*", "$1"));
+        assertTrue(maxAge > 0 && maxAge <= 30, cacheControl);
+    }
+
+    @Test
+    void introspect_withFormPost_shouldNotBeStoredEvenIfActive() {
+        // Arrange
+        when(authenticationService.introspect("token")).thenReturn(Mono.just(TokenIntrospectionResponse.builder()
+                .active(true)
+                .exp(Instant.now().plusSeconds(3600).getEpochSecond())
+                .build()));
+
+        // Act & Assert
+        client.post().uri("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("token", "token"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noStore())
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.active").isEqualTo(true);
+    }
+
+    @Test
+    void introspect_whenInactive_shouldNotBeStored() {
+        // Arrange
+        when(authenticationService.introspect("token")).thenReturn(Mono.just(TokenIntrospectionResponse.inactive()));
+
+        // Act & Assert
+        client.get().uri("/api/auth/introspect")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noStore())
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .json("{\"active\":false}", JsonCompareMode.STRICT);
+    }
+
+    @Test
+    void logoutAndRevoke_shouldReadTokensFromFormBodyAndIgnoreQueryParameters() {
+        // Arrange
+        when(authenticationService.logout("acceso", "refresco")).thenReturn(Mono.empty());
+        when(authenticationService.revoke("revocado")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        client.post().uri("/api/auth/logout")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer acceso")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("refreshToken", "refresco"))
+                .exchange()
+                .expectStatus().isNoContent();
+        client.post().uri("/api/auth/revoke")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("token", "revocado"))
+                .exchange()
+                .expectStatus().isOk();
+        client.post().uri("/api/auth/revoke?token=en-la-url")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("AUTH-005");
+        verify(authenticationService, never()).revoke("en-la-url");
+    }
+}
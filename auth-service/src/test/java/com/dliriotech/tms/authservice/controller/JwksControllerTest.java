@@ -0,0 +1,54 @@
+package com.dliriotech.tms.authservice.controller;
+
+import com.dliriotech.tms.authservice.config.JwtSigningProperties;
+import com.dliriotech.tms.authservice.security.jwt.JwtAlgorithm;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.List;
+
+class JwksControllerTest {
+
+    @Test
+    void jwks_shouldPublishEveryPublicKeyWithCachingHeaders() throws Exception {
+        // Arrange
+        KeyPair rsa = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        JwtKeySet keySet = new JwtKeySet(null, "ed", List.of(
+                new JwtKeySet.KeyEntry("ed", JwtAlgorithm.EdDSA, ed.getPrivate(), ed.getPublic()),
+                new JwtKeySet.KeyEntry("rsa", JwtAlgorithm.RS256, null, rsa.getPublic())));
+
+        WebTestClient client = WebTestClient
+                .bindToController(new JwksController(keySet, new JwtSigningProperties()))
+                .build();
+
+        // Act & Assert
+        String etag = client.get().uri("/.well-known/jwks.json")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .expectBody()
+                .jsonPath("$.keys.length()").isEqualTo(2)
+                .jsonPath("$.keys[0].kid").isEqualTo("ed")
+                .jsonPath("$.keys[0].kty").isEqualTo("OKP")
+                .jsonPath("$.keys[0].crv").isEqualTo("Ed25519")
+                .jsonPath("$.keys[0].d").doesNotExist()
+                .jsonPath("$.keys[1].kid").isEqualTo("rsa")
+                .jsonPath("$.keys[1].alg").isEqualTo("RS256")
+                .jsonPath("$.keys[1].n").exists()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        client.get().uri("/.well-known/jwks.json")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+}
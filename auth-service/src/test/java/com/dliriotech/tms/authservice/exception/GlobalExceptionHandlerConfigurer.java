@@ -0,0 +1,24 @@
+package com.dliriotech.tms.authservice.exception;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.autoconfigure.web.WebProperties;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.test.web.reactive.server.MockServerConfigurer;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+/**
+ * Registra GlobalExceptionHandler en los clientes de prueba enlazados a un controlador, para que las pruebas vean
+ * el mismo código de estado que la aplicación en lugar del 500 por defecto.
+ */
+public class GlobalExceptionHandlerConfigurer implements MockServerConfigurer {
+
+    @Override
+    public void beforeServerCreated(WebHttpHandlerBuilder builder) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.refresh();
+        builder.exceptionHandler(new GlobalExceptionHandler(new DefaultErrorAttributes(),
+                new WebProperties.Resources(), context, ServerCodecConfigurer.create(), new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,287 @@
+package com.dliriotech.tms.authservice.load;
+
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.dto.AuthResponse;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.LoginResponse;
+import com.dliriotech.tms.authservice.load.LatencyReport.Operation;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.support.InMemorySessionTokenCache;
+import com.dliriotech.tms.authservice.support.InMemoryTokenDenylist;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta la aplicación completa contra H2 y un SessionTokenCache en memoria,
+ * lanza una mezcla de login, generate, refresh y validate con concurrencia fija y falla si se superan los
+ * presupuestos de latencia o de throughput. Se ejecuta con {@code mvn -Pload-test test}; los parámetros están en application-load.yml
+ * y pueden sobrescribirse con {@code -Dload.concurrency=64}, etc.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "load"})
+@Slf4j
+class AuthLoadTest {
+
+    private static final String PASSWORD = "password";
+    private static final int EMPRESAS_PER_MULTI_USER = 3;
+
+    @TestBean
+    private SessionTokenCache sessionTokenCache;
+
+    @TestBean
+    private TokenDenylist tokenDenylist;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserNameFilter userNameFilter;
+
+    @Value("${load.users}")
+    private int users;
+
+    @Value("${load.concurrency}")
+    private int concurrency;
+
+    @Value("${load.warmup-requests}")
+    private int warmupRequests;
+
+    @Value("${load.requests}")
+    private int requests;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${load.budget.min-throughput}")
+    private double minThroughput;
+
+    private WebClient webClient;
+    private final List<Session> singleEmpresaSessions = new ArrayList<>();
+    private final List<Integer> empresaIds = new ArrayList<>();
+
+    static SessionTokenCache sessionTokenCache() {
+        return new InMemorySessionTokenCache();
+    }
+
+    static TokenDenylist tokenDenylist() {
+        return new InMemoryTokenDenylist();
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Cliente con sus propios hilos y una conexión por petición concurrente, para no competir con el servidor
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.builder("carga")
+                        .maxConnections(concurrency)
+                        .pendingAcquireMaxCount(-1)
+                        .build())
+                .runOn(LoopResources.create("carga-cliente", 2, true));
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        seed();
+        // Los usuarios se insertan por SQL, sin pasar por el registro: el filtro de nombres se reconstruye a mano
+        userNameFilter.rebuild().block();
+
+        // Un login por usuario de una empresa deja tokens de acceso y refresco para las operaciones de validate/refresh
+        for (int i = 0; i < users; i++) {
+            LoginResponse response = login("carga-una-" + i).block();
+            singleEmpresaSessions.add(new Session(response.getUserId(), response.getEmpresas().get(0).getId(),
+                    response.getToken(), response.getRefreshToken()));
+        }
+    }
+
+    @Test
+    void mixedWorkloadStaysWithinLatencyBudgets() {
+        run(warmupRequests, new LatencyReport());
+
+        LatencyReport report = new LatencyReport();
+        long start = System.nanoTime();
+        run(requests, report);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        log.info("Resultado de carga (concurrencia {}): {}", concurrency, report.format(elapsed));
+
+        List<String> violations = new ArrayList<>(report.violations(99, operation -> budget(operation, "p99")));
+        violations.addAll(report.violations(99.9, operation -> budget(operation, "p999")));
+        double throughput = requests / (elapsed.toNanos() / 1e9);
+        if (throughput < minThroughput) {
+            violations.add(String.format("throughput %.1f req/s < %.1f req/s", throughput, minThroughput));
+        }
+
+        assertEquals(0, report.errors(), "Peticiones con error durante la carga");
+        assertTrue(violations.isEmpty(), "Presupuestos superados: " + violations);
+    }
+
+    /**
+     * Presupuesto de la operación (load.budget.login.p99) o, si no tiene uno propio, el general (load.budget.p99)
+     */
+    private Duration budget(Operation operation, String percentile) {
+        Duration fallback = environment.getRequiredProperty("load.budget." + percentile, Duration.class);
+        return environment.getProperty("load.budget." + operation.name().toLowerCase() + "." + percentile,
+                Duration.class, fallback);
+    }
+
+    private void run(int iterations, LatencyReport report) {
+        Flux.range(0, iterations)
+                .flatMap(i -> scenario(i, report), concurrency)
+                .blockLast();
+    }
+
+    /**
+     * Mezcla por cada 20 iteraciones: 3 logins con una empresa, 2 logins con varias empresas seguidos de generate,
+     * 3 refresh y 12 validate.
+     */
+    private Mono<?> scenario(int iteration, LatencyReport report) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Session session = singleEmpresaSessions.get(random.nextInt(singleEmpresaSessions.size()));
+        int slot = iteration % 20;
+        if (slot < 3) {
+            return timed(Operation.LOGIN, report, login("carga-una-" + random.nextInt(users)));
+        }
+        if (slot < 5) {
+            return timed(Operation.LOGIN, report, login("carga-varias-" + random.nextInt(users)))
+                    .flatMap(response -> timed(Operation.GENERATE, report, generate(response)));
+        }
+        if (slot < 8) {
+            return timed(Operation.REFRESH, report, refresh(session));
+        }
+        return timed(Operation.VALIDATE, report, validate(session));
+    }
+
+    private <T> Mono<T> timed(Operation operation, LatencyReport report, Mono<T> request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request
+                    .doOnSuccess(response -> report.record(operation, System.nanoTime() - start))
+                    .onErrorResume(e -> {
+                        report.recordError(operation);
+                        log.warn("Error en {}: {}", operation, e.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private Mono<LoginResponse> login(String userName) {
+        LoginRequest request = new LoginRequest();
+        request.setUserName(userName);
+        request.setPassword(PASSWORD);
+        return webClient.post()
+                .uri("/api/auth/login")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(LoginResponse.class);
+    }
+
+    private Mono<AuthResponse> generate(LoginResponse response) {
+        Integer empresaId = response.getEmpresas().get(ThreadLocalRandom.current().nextInt(response.getEmpresas().size())).getId();
+        return webClient.post()
+                .uri(uri -> uri.path("/api/tokens/generate")
+                        .queryParam("userId", response.getUserId())
+                        .queryParam("empresaId", empresaId)
+                        .queryParam("sessionToken", response.getSessionToken())
+                        .build())
+                .retrieve()
+                .bodyToMono(AuthResponse.class);
+    }
+
+    private Mono<AuthResponse> refresh(Session session) {
+        return webClient.post()
+                .uri(uri -> uri.path("/api/tokens/refresh").queryParam("empresaId", session.empresaId()).build())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + session.refreshToken())
+                .retrieve()
+                .bodyToMono(AuthResponse.class);
+    }
+
+    private Mono<Boolean> validate(Session session) {
+        return webClient.get()
+                .uri("/api/auth/validate")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + session.accessToken())
+                .retrieve()
+                .bodyToMono(Boolean.class);
+    }
+
+    private void seed() {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        databaseClient.sql("DELETE FROM user_empresas").then()
+                .then(databaseClient.sql("DELETE FROM auth_user").then())
+                .then(databaseClient.sql("DELETE FROM empresas").then())
+                .block();
+
+        empresaIds.clear();
+        for (int i = 0; i < users + EMPRESAS_PER_MULTI_USER; i++) {
+            empresaIds.add(databaseClient.sql("INSERT INTO empresas (nombre, email) VALUES (:nombre, 'carga@correo.com')")
+                    .bind("nombre", "Empresa " + i)
+                    .filter(statement -> statement.returnGeneratedValues("id"))
+                    .map(row -> row.get("id", Integer.class))
+                    .one()
+                    .block());
+        }
+
+        for (int i = 0; i < users; i++) {
+            Integer singleUserId = insertUser("carga-una-" + i, encodedPassword);
+            assign(singleUserId, empresaIds.get(i));
+
+            Integer multiUserId = insertUser("carga-varias-" + i, encodedPassword);
+            for (int j = 0; j < EMPRESAS_PER_MULTI_USER; j++) {
+                assign(multiUserId, empresaIds.get((i + j) % empresaIds.size()));
+            }
+        }
+    }
+
+    private Integer insertUser(String userName, String encodedPassword) {
+        return databaseClient.sql("INSERT INTO auth_user (user_name, password, role, name, last_name) "
+                        + "VALUES (:userName, :password, 'OPERADOR', 'Carga', 'Prueba')")
+                .bind("userName", userName)
+                .bind("password", encodedPassword)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+    }
+
+    private void assign(Integer userId, Integer empresaId) {
+        databaseClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (:userId, :empresaId)")
+                .bind("userId", userId)
+                .bind("empresaId", empresaId)
+                .then()
+                .block();
+    }
+
+    private record Session(Integer userId, Integer empresaId, String accessToken, String refreshToken) {
+    }
+}
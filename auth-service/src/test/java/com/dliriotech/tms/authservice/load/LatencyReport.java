@@ -0,0 +1,92 @@
+package com.dliriotech.tms.authservice.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Histograma de latencias por operación (HdrHistogram, precisión de 3 dígitos) y conteo de errores.
+ */
+class LatencyReport {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos) {
+        histograms.get(operation).recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+    }
+
+    void recordError(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    long errors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Duration percentile(Operation operation, double percentile) {
+        return Duration.ofNanos(histograms.get(operation).getValueAtPercentile(percentile));
+    }
+
+    long count(Operation operation) {
+        return histograms.get(operation).getTotalCount();
+    }
+
+    /**
+     * Operaciones cuyo percentil supera el presupuesto, con el detalle para el mensaje de fallo
+     */
+    List<String> violations(double percentile, Function<Operation, Duration> budgets) {
+        List<String> violations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Duration value = percentile(operation, percentile);
+            Duration budget = budgets.apply(operation);
+            if (count(operation) > 0 && value.compareTo(budget) > 0) {
+                violations.add(String.format("%s p%s=%.2fms > %dms",
+                        operation, percentile, value.toNanos() / 1e6, budget.toMillis()));
+            }
+        }
+        return violations;
+    }
+
+    String format(Duration elapsed) {
+        StringBuilder report = new StringBuilder(String.format("%n%-10s %9s %10s %9s %9s %9s %9s %7s%n",
+                "operación", "peticiones", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errores"));
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            total += histogram.getTotalCount();
+            report.append(String.format("%-10s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d%n",
+                    operation,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (elapsed.toNanos() / 1e9),
+                    histogram.getValueAtPercentile(50) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6,
+                    errors.get(operation).sum()));
+        }
+        report.append(String.format("total      %9d %10.1f en %d ms%n", total, total / (elapsed.toNanos() / 1e9), elapsed.toMillis()));
+        return report.toString();
+    }
+
+    enum Operation {
+        LOGIN, GENERATE, REFRESH, VALIDATE
+    }
+}
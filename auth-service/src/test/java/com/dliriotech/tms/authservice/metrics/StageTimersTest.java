@@ -0,0 +1,51 @@
+package com.dliriotech.tms.authservice.metrics;
+
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StageTimersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StageTimers stageTimers = new StageTimers(meterRegistry);
+
+    @Test
+    void time_shouldTagOutcomeWithErrorCodeAndBranch() {
+        // Act
+        StepVerifier.create(stageTimers.time("login", "total", Mono.just(List.of(1, 2)),
+                        empresas -> StageTimers.branch(empresas.size())))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(stageTimers.time("login", "user_lookup", Mono.empty())).verifyComplete();
+        StepVerifier.create(stageTimers.time("login", "jwt_sign", Mono.error(new IllegalStateException("clave"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // Assert
+        assertEquals(1, meterRegistry.get(StageTimers.METRIC)
+                .tags("stage", "total", "outcome", "success", "empresas", "n").timer().count());
+        assertEquals(1, meterRegistry.get(StageTimers.METRIC)
+                .tags("stage", "user_lookup", "outcome", "empty", "empresas", "none").timer().count());
+        assertEquals(1, meterRegistry.get(StageTimers.METRIC)
+                .tags("stage", "jwt_sign", "outcome", "SYS-001").timer().count());
+    }
+
+    @Test
+    void record_whenTaskFails_shouldRecordErrorCodeAndRethrow() {
+        // Act
+        assertThrows(InvalidTokenException.class, () -> stageTimers.record("validate", "jwt_verify", () -> {
+            throw new InvalidTokenException("Token expirado");
+        }));
+
+        // Assert
+        assertEquals(1, meterRegistry.get(StageTimers.METRIC)
+                .tags("pipeline", "validate", "stage", "jwt_verify", "outcome", "AUTH-003").timer().count());
+    }
+}
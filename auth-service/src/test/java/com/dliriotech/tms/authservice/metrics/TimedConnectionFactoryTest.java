@@ -0,0 +1,41 @@
+package com.dliriotech.tms.authservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class TimedConnectionFactoryTest {
+
+    @Test
+    void create_shouldRecordAcquireTimeByOutcomeAndUnwrapToPool() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConnectionFactory pool = mock(ConnectionFactory.class);
+        Connection connection = mock(Connection.class);
+        doReturn(Mono.just(connection), Mono.error(new IllegalStateException("timeout"))).when(pool).create();
+        TimedConnectionFactory connectionFactory = new TimedConnectionFactory(pool,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                "connectionFactory");
+
+        // Act
+        StepVerifier.create(connectionFactory.create()).expectNext(connection).verifyComplete();
+        StepVerifier.create(connectionFactory.create()).expectError(IllegalStateException.class).verify();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("r2dbc.pool.acquire").tag("outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get("r2dbc.pool.acquire").tag("outcome", "error").timer().count());
+        assertSame(pool, connectionFactory.unwrap());
+    }
+}
@@ -0,0 +1,170 @@
+package com.dliriotech.tms.authservice.repository;
+
+import com.dliriotech.tms.authservice.config.ReadReplicaConfig;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaReadAspect;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRouting;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Primario y réplica en dos bases H2 con el mismo usuario y distinto rol, para ver a cuál fue cada lectura
+ */
+@DataR2dbcTest
+@ActiveProfiles("test")
+@Import({ReadReplicaConfig.class, ReplicaRouting.class, ReplicaReadAspect.class, ReplicaRoutingTest.MetricsConfig.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "db.replica.enabled=true",
+        "db.replica.url=r2dbc:h2:mem:///tms-auth-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "db.replica.username=sa",
+        "db.replica.read-your-writes-window=1m"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private AuthUserRepository userRepository;
+
+    @Autowired
+    private UserEmpresaRepository userEmpresaRepository;
+
+    @Autowired
+    private ReplicaRouting replicaRouting;
+
+    @Autowired
+    @Qualifier("primaryConnectionFactory")
+    private ConnectionFactory primary;
+
+    @Autowired
+    @Qualifier("replicaConnectionFactory")
+    private ConnectionFactory replica;
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient replicaClient = DatabaseClient.create(replica);
+        Flux.just("CREATE TABLE IF NOT EXISTS auth_user (id INT AUTO_INCREMENT PRIMARY KEY, " +
+                                "user_name VARCHAR(100) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, " +
+                                "role VARCHAR(50) NOT NULL, name VARCHAR(100), last_name VARCHAR(100), " +
+                                "phone_number VARCHAR(20), email VARCHAR(150))",
+                        "CREATE TABLE IF NOT EXISTS user_empresas (user_id INT NOT NULL, empresa_id INT NOT NULL, " +
+                                "PRIMARY KEY (user_id, empresa_id))",
+                        "DELETE FROM auth_user WHERE user_name LIKE 'replica-%'",
+                        "DELETE FROM user_empresas WHERE user_id >= 9000")
+                .concatMap(sql -> replicaClient.sql(sql).then())
+                .blockLast();
+        DatabaseClient primaryClient = DatabaseClient.create(primary);
+        Flux.just("DELETE FROM auth_user WHERE user_name LIKE 'replica-%'",
+                        "DELETE FROM user_empresas WHERE user_id >= 9000")
+                .concatMap(sql -> primaryClient.sql(sql).then())
+                .blockLast();
+
+        insertUser(primaryClient, 9001, "replica-usuario", "PRIMARIO");
+        insertUser(replicaClient, 9001, "replica-usuario", "REPLICA");
+        insertUser(primaryClient, 9002, "replica-nuevo", "PRIMARIO");
+        replicaClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (9001, 1), (9001, 2)").then().block();
+    }
+
+    @Test
+    void readOnlyRepositoryMethods_shouldBeServedByReplica() {
+        // Act & Assert
+        StepVerifier.create(userRepository.findByUserName("replica-usuario").map(AuthUser::getRole))
+                .expectNext("REPLICA")
+                .verifyComplete();
+        StepVerifier.create(userEmpresaRepository.findByUserId(9001).map(UserEmpresa::getEmpresaId).collectList())
+                .expectNext(List.of(1, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void findByUserName_afterWriteOnThisNode_shouldReadFromPrimary() {
+        // Arrange
+        replicaRouting.markWritten("Replica-Usuario", 9001);
+
+        // Act & Assert
+        StepVerifier.create(userRepository.findByUserName("replica-usuario").map(AuthUser::getRole))
+                .expectNext("PRIMARIO")
+                .verifyComplete();
+        StepVerifier.create(userEmpresaRepository.findByUserId(9001).count())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findByUserName_whenReplicaIsBehind_shouldFallBackToPrimary() {
+        // Act & Assert: escrito en otro nodo, todavía no replicado
+        StepVerifier.create(userRepository.findByUserName("replica-nuevo").map(AuthUser::getRole))
+                .expectNext("PRIMARIO")
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllUserNames_shouldReadFromPrimaryToIncludeUsersNotYetReplicated() {
+        // Act & Assert
+        StepVerifier.create(userRepository.findAllUserNames().filter(name -> name.startsWith("replica-")).sort())
+                .expectNext("replica-nuevo", "replica-usuario")
+                .verifyComplete();
+    }
+
+    @Test
+    void writes_shouldGoToPrimary() {
+        // Act
+        AuthUser saved = userRepository.save(AuthUser.builder()
+                        .userName("replica-escrito")
+                        .password("encoded")
+                        .role("ADMIN")
+                        .build())
+                .block();
+
+        // Assert
+        assertEquals(1L, DatabaseClient.create(primary)
+                .sql("SELECT COUNT(*) AS total FROM auth_user WHERE user_name = 'replica-escrito'")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block());
+        assertEquals(0L, DatabaseClient.create(replica)
+                .sql("SELECT COUNT(*) AS total FROM auth_user WHERE user_name = 'replica-escrito'")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block());
+        userRepository.delete(saved).block();
+    }
+
+    private static void insertUser(DatabaseClient client, int id, String userName, String role) {
+        client.sql("INSERT INTO auth_user (id, user_name, password, role) VALUES (:id, :userName, 'encoded', :role)")
+                .bind("id", id)
+                .bind("userName", userName)
+                .bind("role", role)
+                .then()
+                .block();
+    }
+}
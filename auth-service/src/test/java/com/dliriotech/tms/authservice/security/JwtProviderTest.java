@@ -0,0 +1,174 @@
+package com.dliriotech.tms.authservice.security;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authclient.TokenType;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import com.dliriotech.tms.authservice.security.jwt.JwtAlgorithm;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtProviderTest {
+
+    private static final String SECRET = "claveSecretaParaPruebasDeAlMenos32Caracteres";
+
+    private JwtProvider jwtProvider;
+
+    @BeforeEach
+    void setUp() {
+        // Para pruebas, usamos una clave secreta fija y tiempo de expiración corto
+        jwtProvider = newProvider(JwtKeySet.hmac(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static JwtProvider newProvider(JwtKeySet keySet) {
+        JwtProvider provider = new JwtProvider(keySet);
+        // Usar reflection para establecer los valores privados
+        ReflectionTestUtils.setField(provider, "expirationMs", 3600000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationMs", 86400000L);
+        return provider;
+    }
+
+    private static AuthUser user() {
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setRole("admin");
+        return user;
+    }
+
+    @Test
+    void validate_withValidToken_shouldReturnTrue() {
+        // Arrange
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setRole("admin");
+
+        Integer idEmpresa = 1;
+
+        String token = jwtProvider.createTokenWithEmpresa(user, idEmpresa);
+
+        // Act & Assert
+        assertTrue(jwtProvider.validate(token));
+    }
+
+    @Test
+    void parse_withEmpresaToken_shouldReturnAccessClaims() {
+        // Arrange
+        AuthUser user = new AuthUser();
+        user.setId(7);
+        user.setUserName("usuario");
+        user.setRole("admin");
+
+        String token = jwtProvider.createTokenWithEmpresa(user, 3);
+
+        // Act
+        TokenClaims claims = jwtProvider.parse(token);
+
+        // Assert
+        assertEquals(7, claims.userId());
+        assertEquals("usuario", claims.subject());
+        assertEquals("admin", claims.role());
+        assertEquals(3, claims.empresaId());
+        assertEquals(TokenType.ACCESS, claims.type());
+        assertTrue(claims.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parse_withRefreshToken_shouldReturnRefreshClaims() {
+        // Arrange
+        AuthUser user = new AuthUser();
+        user.setId(7);
+        user.setUserName("usuario");
+        user.setRole("admin");
+
+        String token = jwtProvider.createRefreshToken(user);
+
+        // Act
+        TokenClaims claims = jwtProvider.parse(token);
+
+        // Assert
+        assertNull(claims.empresaId());
+        assertTrue(claims.isRefreshToken());
+        assertFalse(jwtProvider.hasEmpresaClaim(token));
+    }
+
+    @Test
+    void createTokens_shouldAssignUniqueTokenIds() {
+        // Act
+        TokenClaims access = jwtProvider.parse(jwtProvider.createTokenWithEmpresa(user(), 1));
+        TokenClaims refresh = jwtProvider.parse(jwtProvider.createRefreshToken(user()));
+
+        // Assert
+        assertEquals(22, access.tokenId().length());
+        assertEquals(22, refresh.tokenId().length());
+        assertNotEquals(access.tokenId(), refresh.tokenId());
+    }
+
+    @Test
+    void parse_withTamperedToken_shouldThrowInvalidTokenException() {
+        // Arrange
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setRole("admin");
+
+        String token = jwtProvider.createTokenWithEmpresa(user, 1);
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> jwtProvider.parse(tampered));
+        assertFalse(jwtProvider.validate("no-es-un-token"));
+    }
+
+    @Test
+    void parse_withAsymmetricKeys_shouldVerifyBySigningKeyId() throws Exception {
+        // Arrange
+        KeyPair rsa = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        KeyPair ed = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        JwtKeySet.KeyEntry oldKey = new JwtKeySet.KeyEntry("old", JwtAlgorithm.RS256, rsa.getPrivate(), rsa.getPublic());
+        JwtKeySet.KeyEntry newKey = new JwtKeySet.KeyEntry("new", JwtAlgorithm.EdDSA, ed.getPrivate(), ed.getPublic());
+
+        JwtProvider oldProvider = newProvider(new JwtKeySet(null, "old", List.of(oldKey)));
+        JwtProvider rotatedProvider = newProvider(new JwtKeySet(null, "new", List.of(newKey, oldKey)));
+
+        String oldToken = oldProvider.createTokenWithEmpresa(user(), 2);
+        String newToken = rotatedProvider.createTokenWithEmpresa(user(), 2);
+
+        // Act & Assert
+        assertEquals(2, rotatedProvider.parse(oldToken).empresaId());
+        assertEquals(2, rotatedProvider.parse(newToken).empresaId());
+        assertThrows(InvalidTokenException.class, () -> oldProvider.parse(newToken));
+        assertThrows(InvalidTokenException.class, () -> rotatedProvider.parse(jwtProvider.createRefreshToken(user())));
+    }
+
+    @Test
+    void parse_withLegacyHmacToken_shouldBeAcceptedWhileSecretIsConfigured() throws Exception {
+        // Arrange
+        KeyPair rsa = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        JwtKeySet.KeyEntry key = new JwtKeySet.KeyEntry("rsa", JwtAlgorithm.RS256, rsa.getPrivate(), rsa.getPublic());
+        JwtProvider migratedProvider = newProvider(new JwtKeySet(
+                Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), "rsa", List.of(key)));
+
+        String legacyToken = jwtProvider.createTokenWithEmpresa(user(), 1);
+
+        // Act & Assert
+        assertTrue(migratedProvider.validate(legacyToken));
+        assertTrue(migratedProvider.validate(migratedProvider.createTokenWithEmpresa(user(), 1)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.dliriotech.tms.authservice.security.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokenGeneratorTest {
+
+    @Test
+    void newTokenIsUniqueVersion4Uuid() {
+        // Arrange
+        SessionTokenGenerator generator = new SessionTokenGenerator();
+        Set<String> tokens = new HashSet<>();
+
+        // Act & Assert
+        for (int i = 0; i < 1000; i++) {
+            String token = generator.newToken();
+            UUID uuid = UUID.fromString(token);
+            assertEquals(4, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(tokens.add(token));
+        }
+    }
+}
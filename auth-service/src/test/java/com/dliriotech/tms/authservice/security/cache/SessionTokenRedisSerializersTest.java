@@ -0,0 +1,62 @@
+package com.dliriotech.tms.authservice.security.cache;
+
+import com.dliriotech.tms.authservice.security.cache.impl.DecimalIntegerRedisSerializer;
+import com.dliriotech.tms.authservice.security.cache.impl.SessionTokenKeySerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokenRedisSerializersTest {
+
+    private final SessionTokenKeySerializer keySerializer = new SessionTokenKeySerializer();
+    private final DecimalIntegerRedisSerializer valueSerializer = new DecimalIntegerRedisSerializer();
+
+    @Test
+    void keySerializer_whenTokenIsUuid_shouldWriteCompactBinaryKey() {
+        // Arrange
+        String token = new SessionTokenGenerator().newToken();
+
+        // Act
+        byte[] key = keySerializer.serialize(token);
+
+        // Assert
+        assertEquals(19, key.length);
+        assertEquals("st:", new String(key, 0, 3, StandardCharsets.US_ASCII));
+        assertEquals(token, keySerializer.deserialize(key));
+    }
+
+    @Test
+    void keySerializer_whenTokenIsNotCanonicalUuid_shouldWriteTextKey() {
+        // Arrange
+        String upperCase = "0F8FAD5B-D9CB-469F-A165-70867728950E";
+
+        // Act
+        byte[] key = keySerializer.serialize(upperCase);
+
+        // Assert
+        assertEquals("session:token:" + upperCase, new String(key, StandardCharsets.UTF_8));
+        assertEquals(upperCase, keySerializer.deserialize(key));
+        assertEquals("session:token:abc", new String(keySerializer.serialize("abc"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void valueSerializer_shouldReadValuesWrittenByJackson() {
+        // Arrange
+        Jackson2JsonRedisSerializer<Integer> jackson = new Jackson2JsonRedisSerializer<>(Integer.class);
+
+        // Act & Assert
+        for (int value : new int[]{0, 7, 123456, -42, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            assertArrayEquals(jackson.serialize(value), valueSerializer.serialize(value));
+            assertEquals(value, valueSerializer.deserialize(jackson.serialize(value)));
+        }
+        assertNull(valueSerializer.deserialize(new byte[0]));
+        assertThrows(SerializationException.class,
+                () -> valueSerializer.deserialize("\"7\"".getBytes(StandardCharsets.US_ASCII)));
+        assertThrows(SerializationException.class,
+                () -> valueSerializer.deserialize("9999999999".getBytes(StandardCharsets.US_ASCII)));
+    }
+}
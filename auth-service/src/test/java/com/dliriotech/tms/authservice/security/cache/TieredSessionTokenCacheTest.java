@@ -0,0 +1,126 @@
+package com.dliriotech.tms.authservice.security.cache;
+
+import com.dliriotech.tms.authservice.config.SessionCacheProperties;
+import com.dliriotech.tms.authservice.security.cache.impl.RedisSessionTokenCache;
+import com.dliriotech.tms.authservice.security.cache.impl.TieredSessionTokenCache;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TieredSessionTokenCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private RedisSessionTokenCache redis;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private TieredSessionTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SessionCacheProperties properties = new SessionCacheProperties();
+        properties.setRedisTimeout(Duration.ofMillis(50));
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TieredSessionTokenCache(redis, properties, circuitBreakerRegistry, meterRegistry);
+    }
+
+    @Test
+    void consume_whenRedisIsAvailable_shouldDelegateToRedis() {
+        // Arrange
+        when(redis.store("sesion", 1, TTL)).thenReturn(Mono.just(true));
+        when(redis.consume("sesion", 1)).thenReturn(Mono.just(true)).thenReturn(Mono.just(false));
+        cache.store("sesion", 1, TTL).block();
+
+        // Act & Assert
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(false).verifyComplete();
+        assertEquals(0, fallbacks());
+    }
+
+    @Test
+    void consume_whenRedisTimesOut_shouldRedeemLocalCopyOnlyOnce() {
+        // Arrange
+        when(redis.store(anyString(), anyInt(), any())).thenReturn(Mono.never());
+        when(redis.consume(anyString(), anyInt())).thenReturn(Mono.never());
+
+        // Act
+        StepVerifier.create(cache.store("sesion", 1, TTL)).expectNext(true).verifyComplete();
+
+        // Assert
+        StepVerifier.create(cache.consume("sesion", 2)).expectNext(false).verifyComplete();
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(false).verifyComplete();
+        assertEquals(4, fallbacks());
+    }
+
+    @Test
+    void consume_whenStoredDuringOutageAndRedisRecovers_shouldRedeemLocalCopy() {
+        // Arrange
+        when(redis.store("sesion", 1, TTL)).thenReturn(Mono.error(new IllegalStateException("sin conexión")));
+        when(redis.consume("sesion", 1)).thenReturn(Mono.just(false));
+        cache.store("sesion", 1, TTL).block();
+
+        // Act & Assert
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void consume_whenRedeemedOnAnotherNodeAndCircuitIsOpen_shouldRejectReplay() {
+        // Arrange: el token se guarda en Redis desde este nodo y otro nodo lo canjea
+        SessionCacheProperties properties = new SessionCacheProperties();
+        properties.setRedisTimeout(Duration.ofMillis(50));
+        TieredSessionTokenCache otherNode = new TieredSessionTokenCache(redis, properties,
+                CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        when(redis.store("sesion", 1, TTL)).thenReturn(Mono.just(true));
+        when(redis.consume("sesion", 1)).thenReturn(Mono.just(true));
+        cache.store("sesion", 1, TTL).block();
+        StepVerifier.create(otherNode.consume("sesion", 1)).expectNext(true).verifyComplete();
+
+        // Act
+        circuitBreakerRegistry.circuitBreaker("sessioncache").transitionToOpenState();
+
+        // Assert
+        StepVerifier.create(cache.validate("sesion", 1)).expectNext(false).verifyComplete();
+        StepVerifier.create(cache.consume("sesion", 1)).expectNext(false).verifyComplete();
+        verify(redis, times(1)).consume("sesion", 1);
+    }
+
+    @Test
+    void store_whenCircuitIsOpen_shouldNotCallRedis() {
+        // Arrange
+        circuitBreakerRegistry.circuitBreaker("sessioncache").transitionToOpenState();
+
+        // Act
+        StepVerifier.create(cache.store("sesion", 1, TTL)).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.validate("sesion", 1)).expectNext(true).verifyComplete();
+
+        // Assert
+        verifyNoInteractions(redis);
+        assertEquals(2, fallbacks());
+    }
+
+    private double fallbacks() {
+        return meterRegistry.find("auth.session.cache.fallback").counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+}
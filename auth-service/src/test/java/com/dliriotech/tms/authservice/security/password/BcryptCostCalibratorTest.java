@@ -0,0 +1,36 @@
+package com.dliriotech.tms.authservice.security.password;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BcryptCostCalibratorTest {
+
+    @Test
+    void strengthForPicksHighestCostWithinBudget() {
+        // 10 -> 40ms, 11 -> 80ms, 12 -> 160ms
+        assertEquals(11, BcryptCostCalibrator.strengthFor(Duration.ofMillis(100), Duration.ofMillis(40), 10, 14));
+        assertEquals(12, BcryptCostCalibrator.strengthFor(Duration.ofMillis(160), Duration.ofMillis(40), 10, 14));
+        assertEquals(10, BcryptCostCalibrator.strengthFor(Duration.ofMillis(10), Duration.ofMillis(40), 10, 14));
+        assertEquals(14, BcryptCostCalibrator.strengthFor(Duration.ofSeconds(10), Duration.ofMillis(40), 10, 14));
+    }
+
+    @Test
+    void strengthOfReadsCostFromHash() {
+        assertEquals(5, BcryptCostCalibrator.strengthOf(new BCryptPasswordEncoder(5).encode("password")));
+        assertEquals(-1, BcryptCostCalibrator.strengthOf("{argon2}$argon2id$v=19$m=16384"));
+        assertEquals(-1, BcryptCostCalibrator.strengthOf(null));
+    }
+
+    @Test
+    void rehashingEncoderOnlyUpgradesLowerCosts() {
+        RehashingBCryptPasswordEncoder encoder = new RehashingBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+    }
+}
@@ -0,0 +1,87 @@
+package com.dliriotech.tms.authservice.security.password;
+
+import com.dliriotech.tms.authservice.config.PasswordHashingProperties;
+import com.dliriotech.tms.authservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (passwordHasher != null) {
+            passwordHasher.shutdown();
+        }
+    }
+
+    @Test
+    void matchesRunsOnDedicatedThreadAndRecordsLatency() {
+        // Arrange
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.matches("password", "encoded")).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("password-hash-"));
+            return true;
+        });
+        passwordHasher = new PasswordHasher(encoder, properties(1, 1), meterRegistry);
+
+        // Act & Assert
+        StepVerifier.create(passwordHasher.matches("password", "encoded"))
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("auth.password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws InterruptedException {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+        passwordHasher = new PasswordHasher(encoder, properties(1, 1), meterRegistry);
+
+        // Act: un hash en ejecución y otro en cola saturan el pool
+        passwordHasher.encode("a").subscribe();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHasher.encode("b").subscribe();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.active").gauge().value());
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.queue").gauge().value());
+        StepVerifier.create(passwordHasher.encode("c"))
+                .expectErrorSatisfies(error -> {
+                    ServiceOverloadedException overloaded = assertInstanceOf(ServiceOverloadedException.class, error);
+                    assertEquals(Duration.ofSeconds(2), overloaded.getRetryAfter());
+                })
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1.0, meterRegistry.get("auth.password.hash.rejected").counter().count());
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        return properties;
+    }
+}
@@ -0,0 +1,173 @@
+package com.dliriotech.tms.authservice.security.ratelimit;
+
+import com.dliriotech.tms.authservice.config.RateLimitProperties;
+import com.dliriotech.tms.authservice.exception.RateLimitExceededException;
+import com.dliriotech.tms.authservice.security.ratelimit.impl.RedisRequestRateLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisRequestRateLimiterTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<String>> args;
+
+    private RateLimitProperties properties;
+    private RedisRequestRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRedisTimeout(Duration.ofMillis(50));
+        properties.getEndpoints().put("login", new RateLimitProperties.Endpoint(
+                new RateLimitProperties.Bandwidth(3, Duration.ofMinutes(1)),
+                new RateLimitProperties.Bandwidth(10, Duration.ofMinutes(1))));
+        rateLimiter = new RedisRequestRateLimiter(redisTemplate, properties, CircuitBreakerRegistry.ofDefaults(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void acquire_whenRedisGrantsLease_shouldServeNextRequestsLocally() {
+        // Arrange: la primera solicitud no reserva; en la segunda Redis concede 3 tokens (uno para esta solicitud y
+        // 2 reservados) y deja 5 en el cubo
+        when(redisTemplate.execute(anyScript(), anyList(), anyList()))
+                .thenReturn(Flux.just("1 10 8 6000 0"))
+                .thenReturn(Flux.just("3 10 5 30000 0"));
+
+        // Act & Assert
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                .expectNextMatches(decision -> decision.allowed() && decision.remaining() == 8)
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                .expectNextMatches(decision -> decision.allowed() && decision.limit() == 10 && decision.remaining() == 5)
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                .expectNextMatches(decision -> decision.allowed() && decision.remaining() == 6)
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                .expectNextMatches(decision -> decision.allowed() && decision.remaining() == 5)
+                .verifyComplete();
+        verify(redisTemplate, times(2)).execute(anyScript(), anyList(), anyList());
+    }
+
+    @Test
+    void acquire_shouldOnlyAskForLeaseWhenTheKeyRepeatsWithinTheLeaseTtl() {
+        // Arrange
+        when(redisTemplate.execute(anyScript(), anyList(), anyList()))
+                .thenReturn(Flux.just("1 10 9 6000 0"));
+
+        // Act
+        rateLimiter.acquire("login", "usuario", "10.0.0.1").block();
+        rateLimiter.acquire("login", "otro", "10.0.0.1").block();
+        rateLimiter.acquire("login", "usuario", "10.0.0.1").block();
+
+        // Assert: tokens de reserva pedidos en cada consulta
+        verify(redisTemplate, times(3)).execute(anyScript(), anyList(), args.capture());
+        assertEquals(List.of("0", "0", "4"), args.getAllValues().stream().map(a -> a.get(0)).toList());
+    }
+
+    @Test
+    void acquire_whenBucketIsEmpty_shouldFailWithRateLimitHeaders() {
+        // Arrange
+        when(redisTemplate.execute(anyScript(),
+                eq(List.of("rl:login:u:usuario", "rl:login:ip:10.0.0.1")), anyList()))
+                .thenReturn(Flux.just("0 3 0 60000 1500"));
+
+        // Act & Assert
+        StepVerifier.create(rateLimiter.acquire("login", "Usuario", "10.0.0.1"))
+                .expectErrorSatisfies(e -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    ((RateLimitExceededException) e).getDecision().applyTo(headers);
+                    assertEquals("3", headers.getFirst("RateLimit-Limit"));
+                    assertEquals("0", headers.getFirst("RateLimit-Remaining"));
+                    assertEquals("60", headers.getFirst("RateLimit-Reset"));
+                    assertEquals("2", headers.getFirst(HttpHeaders.RETRY_AFTER));
+                })
+                .verify();
+    }
+
+    @Test
+    void acquire_withNameVariantsOfTheSameAccount_shouldShareTheUserBucket() {
+        // Arrange
+        when(redisTemplate.execute(anyScript(), eq(List.of("rl:login:u:admin")), anyList()))
+                .thenReturn(Flux.just("1 3 2 20000 0"));
+
+        // Act & Assert: MySQL compara sin mayúsculas, tildes ni espacios finales
+        for (String userName : List.of("admin", "ADMIN  ", "ádmin", "Ádmin ")) {
+            StepVerifier.create(rateLimiter.acquire("login", userName, null))
+                    .expectNextMatches(RateLimitDecision::allowed)
+                    .verifyComplete();
+        }
+        verify(redisTemplate, times(4)).execute(anyScript(), eq(List.of("rl:login:u:admin")), anyList());
+    }
+
+    @Test
+    void acquire_withoutClientIp_shouldOnlyUseTheUserBucket() {
+        // Arrange
+        when(redisTemplate.execute(anyScript(), eq(List.of("rl:login:u:usuario")), anyList()))
+                .thenReturn(Flux.just("1 3 2 20000 0"));
+
+        // Act & Assert
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", null))
+                .expectNextMatches(decision -> decision.allowed() && decision.limit() == 3)
+                .verifyComplete();
+    }
+
+    @Test
+    void acquire_whenRedisIsUnavailable_shouldApplySameLimitsLocally() {
+        // Arrange
+        when(redisTemplate.execute(anyScript(), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("sin conexión")));
+
+        // Act & Assert: el cubo por usuario admite 3 solicitudes por minuto
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                    .expectNextMatches(RateLimitDecision::allowed)
+                    .verifyComplete();
+        }
+        StepVerifier.create(rateLimiter.acquire("login", "usuario", "10.0.0.1"))
+                .expectError(RateLimitExceededException.class)
+                .verify();
+        StepVerifier.create(rateLimiter.acquire("login", "otro", "10.0.0.1"))
+                .expectNextMatches(RateLimitDecision::allowed)
+                .verifyComplete();
+    }
+
+    @Test
+    void acquire_whenEndpointIsNotConfigured_shouldNotQueryRedis() {
+        // Act & Assert
+        StepVerifier.create(rateLimiter.acquire("otro-endpoint", "usuario", "10.0.0.1"))
+                .expectNext(RateLimitDecision.UNLIMITED)
+                .verifyComplete();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static RedisScript<String> anyScript() {
+        return any();
+    }
+}
@@ -0,0 +1,67 @@
+package com.dliriotech.tms.authservice.security.revocation;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.config.RevocationProperties;
+import com.dliriotech.tms.authservice.security.revocation.impl.RedisTokenDenylist;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisTokenDenylistTest {
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private RedisTokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new RedisTokenDenylist(redisTemplate, invalidationBus, new RevocationProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isRevoked_beforeFirstRebuild_shouldAskRedisAndRejectWhenItFails() {
+        // Arrange
+        when(redisTemplate.hasKey("rv:revocado")).thenReturn(Mono.just(true));
+        when(redisTemplate.hasKey("rv:sin-redis"))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("sin conexión")));
+
+        // Act & Assert
+        assertTrue(denylist.mightBeRevoked("cualquiera"));
+        StepVerifier.create(denylist.isRevoked("revocado")).expectNext(true).verifyComplete();
+        StepVerifier.create(denylist.isRevoked("sin-redis")).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void isRevoked_afterRebuild_shouldOnlyAskRedisForFilterHits() {
+        // Arrange
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(Flux.just("rv:revocado"));
+        when(redisTemplate.hasKey("rv:revocado")).thenReturn(Mono.just(true));
+
+        // Act
+        StepVerifier.create(denylist.rebuild()).verifyComplete();
+
+        // Assert
+        StepVerifier.create(denylist.isRevoked("vigente")).expectNext(false).verifyComplete();
+        StepVerifier.create(denylist.isRevoked("revocado")).expectNext(true).verifyComplete();
+        verify(redisTemplate, never()).hasKey("rv:vigente");
+    }
+}
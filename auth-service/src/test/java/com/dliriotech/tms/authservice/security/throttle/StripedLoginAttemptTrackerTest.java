@@ -0,0 +1,160 @@
+package com.dliriotech.tms.authservice.security.throttle;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.config.LoginThrottleProperties;
+import com.dliriotech.tms.authservice.security.throttle.impl.StripedLoginAttemptTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class StripedLoginAttemptTrackerTest {
+
+    private static final String IP = "10.0.0.1";
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private StripedLoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setUser(new LoginThrottleProperties.Limit(2));
+        properties.setIp(new LoginThrottleProperties.Limit(5));
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new StripedLoginAttemptTracker(properties, mock(CacheInvalidationBus.class), meterRegistry, now::get);
+    }
+
+    @Test
+    void reserve_afterFreeFailures_shouldDoubleTheWaitWithEachFailure() {
+        // Arrange
+        tracker.recordFailure("usuario", IP);
+        tracker.recordFailure("usuario", IP);
+
+        // Act & Assert: dos fallos permitidos, luego 1 s, 2 s, 4 s; las variantes del nombre cuentan igual
+        assertEquals(Duration.ofSeconds(1), tracker.reserve("Úsuario ", IP));
+        advance(Duration.ofSeconds(1));
+        assertEquals(Duration.ZERO, tracker.reserve("usuario", IP));
+        tracker.recordFailure("usuario", IP);
+        assertEquals(Duration.ofSeconds(2), tracker.reserve("usuario", IP));
+        tracker.recordFailure("usuario", IP);
+        assertEquals(Duration.ofSeconds(4), tracker.reserve("usuario", IP));
+        assertEquals(3.0, meterRegistry.get("auth.login.bcrypt.avoided").counter().count());
+    }
+
+    @Test
+    void reserve_whenFailuresLeaveTheWindow_shouldAllowAgain() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            tracker.recordFailure("usuario", IP);
+        }
+
+        // Act & Assert: una ventana después los fallos aún pesan; dos ventanas después ya no cuentan
+        advance(Duration.ofMinutes(15));
+        assertEquals(Duration.ZERO, tracker.reserve("usuario", "10.0.0.2"));
+        advance(Duration.ofMinutes(15));
+        assertEquals(Duration.ZERO, tracker.reserve("usuario", IP));
+    }
+
+    @Test
+    void recordSuccess_shouldResetUserButKeepIpFailures() {
+        // Arrange: fallos contra varios usuarios desde la misma IP
+        for (int i = 0; i < 6; i++) {
+            tracker.recordFailure("usuario" + i, IP);
+        }
+        tracker.recordFailure("propio", IP);
+        tracker.recordFailure("propio", IP);
+
+        // Act
+        tracker.recordSuccess("propio");
+
+        // Assert
+        assertEquals(Duration.ZERO, tracker.reserve("propio", "10.0.0.2"));
+        assertEquals(Duration.ofSeconds(8), tracker.reserve("propio", IP));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void reserve_withoutClientIp_shouldOnlyThrottleTheUser() {
+        // Arrange: sin IP de confianza, muchos fallos contra usuarios distintos no suman
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("usuario" + i, null);
+        }
+        tracker.recordFailure("propio", null);
+        tracker.recordFailure("propio", null);
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, tracker.reserve("otro", null));
+        assertEquals(Duration.ofSeconds(1), tracker.reserve("propio", null));
+        tracker.recordFailure(null, null);
+        assertEquals(0.0, meterRegistry.get("auth.login.throttled").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void reserve_withConcurrentAttempts_shouldCountAttemptsInFlightAsFailures() throws Exception {
+        // Arrange: 16 intentos simultáneos contra un usuario con 2 fallos permitidos
+        int attempts = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Duration>> results = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return tracker.reserve("usuario", IP);
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int reserved = 0;
+        for (Future<Duration> result : results) {
+            if (result.get(5, TimeUnit.SECONDS).isZero()) {
+                reserved++;
+            }
+        }
+        executor.shutdown();
+
+        // Assert: solo pasan los que caben en los fallos permitidos; al fallar, el siguiente ya espera
+        assertEquals(2, reserved);
+        for (int i = 0; i < reserved; i++) {
+            tracker.recordFailure("usuario", IP);
+            tracker.release("usuario", IP);
+        }
+        assertEquals(Duration.ofSeconds(1), tracker.reserve("usuario", IP));
+        // La IP no limita intentos en curso hasta agotar sus fallos permitidos
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, tracker.reserve("otro" + i, IP));
+        }
+    }
+
+    @Test
+    void reserve_afterTheWait_shouldLetOnlyOneAttemptThroughUntilItsResultIsKnown() {
+        // Arrange
+        tracker.recordFailure("usuario", IP);
+        tracker.recordFailure("usuario", IP);
+        advance(Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, tracker.reserve("usuario", IP));
+        assertEquals(Duration.ofSeconds(2), tracker.reserve("usuario", IP));
+        tracker.recordSuccess("usuario");
+        tracker.release("usuario", IP);
+        assertEquals(Duration.ZERO, tracker.reserve("usuario", IP));
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,391 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authclient.TokenClaims;
+import com.dliriotech.tms.authclient.TokenType;
+import com.dliriotech.tms.authservice.cache.EmpresaCache;
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.dto.EmpresaInfo;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.dto.TokenIntrospectionResponse;
+import com.dliriotech.tms.authservice.dto.TokenValidationResult;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.entity.UserEmpresa;
+import com.dliriotech.tms.authservice.exception.InvalidCredentialsException;
+import com.dliriotech.tms.authservice.exception.InvalidTokenException;
+import com.dliriotech.tms.authservice.exception.LoginThrottledException;
+import com.dliriotech.tms.authservice.exception.UserNotFoundException;
+import com.dliriotech.tms.authservice.exception.ValidationException;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.UserEmpresaRepository;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenGenerator;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import com.dliriotech.tms.authservice.security.password.PasswordHasher;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.security.throttle.LoginAttemptTracker;
+import com.dliriotech.tms.authservice.service.impl.AuthenticationServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationServiceImplTest {
+
+    private static final String CLIENT_IP = "10.0.0.1";
+
+    @Mock
+    private AuthUserRepository userRepository;
+
+    @Mock
+    private UserEmpresaRepository userEmpresaRepository;
+
+    @Mock
+    private EmpresaCache empresaCache;
+
+    @Mock
+    private MembershipCache membershipCache;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private SessionTokenCache sessionTokenCache;
+
+    @Spy
+    private SessionTokenGenerator sessionTokenGenerator = new SessionTokenGenerator();
+
+    @Spy
+    private Scheduler tokenSigningScheduler = Schedulers.immediate();
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
+    @Mock
+    private UserNameFilter userNameFilter;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Spy
+    private StageTimers stageTimers = new StageTimers(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private AuthenticationServiceImpl authenticationService;
+
+    @Test
+    void login_whenValidCredentialsAndSingleEmpresa_shouldReturnLoginResponseWithToken() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("usuario");
+        request.setPassword("password");
+
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setPassword("encoded");
+        user.setRole("ADMIN");
+
+        UserEmpresa userEmpresa = new UserEmpresa();
+        userEmpresa.setUserId(1);
+        userEmpresa.setEmpresaId(1);
+
+        EmpresaInfo empresa = new EmpresaInfo(1, "Empresa", "empresa@correo.com");
+
+        when(userNameFilter.mightExist("usuario")).thenReturn(true);
+        when(loginAttemptTracker.reserve("usuario", CLIENT_IP)).thenReturn(Duration.ZERO);
+        when(userRepository.findByUserName("usuario")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("password", "encoded")).thenReturn(Mono.just(true));
+        when(userEmpresaRepository.findByUserId(1)).thenReturn(Flux.just(userEmpresa));
+        when(empresaCache.getAll(List.of(1))).thenReturn(Mono.just(List.of(empresa)));
+        when(jwtProvider.createTokenWithEmpresa(user, 1)).thenReturn("token");
+
+        // Act
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                // Assert
+                .expectNextMatches(response ->
+                        response.getUserId().equals(1) &&
+                                response.getToken().equals("token") &&
+                                response.getRole().equals("ADMIN") &&
+                                response.getEmpresas().get(0).getNombre().equals("Empresa"))
+                .verifyComplete();
+    }
+
+    @Test
+    void login_whenInvalidCredentials_shouldReturnError() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("usuario");
+        request.setPassword("password");
+
+        AuthUser user = new AuthUser();
+        user.setUserName("usuario");
+        user.setPassword("encoded");
+
+        when(userNameFilter.mightExist("usuario")).thenReturn(true);
+        when(loginAttemptTracker.reserve("usuario", CLIENT_IP)).thenReturn(Duration.ZERO);
+        when(userRepository.findByUserName("usuario")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("password", "encoded")).thenReturn(Mono.just(false));
+
+        // Act & Assert
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                .expectError(InvalidCredentialsException.class)
+                .verify();
+        // El fallo se cuenta antes de liberar la reserva: no hay un instante en que el intento no cuente
+        InOrder inOrder = inOrder(loginAttemptTracker);
+        inOrder.verify(loginAttemptTracker).recordFailure("usuario", CLIENT_IP);
+        inOrder.verify(loginAttemptTracker).release("usuario", CLIENT_IP);
+    }
+
+    @Test
+    void login_whenUserNameFilterRejectsUser_shouldFailWithoutQueryingDatabase() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("desconocido");
+        request.setPassword("password");
+
+        when(userNameFilter.mightExist("desconocido")).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                .expectError(UserNotFoundException.class)
+                .verify();
+        verify(userRepository, never()).findByUserName(anyString());
+    }
+
+    @Test
+    void login_afterRepeatedFailures_shouldWaitWithoutCheckingPassword() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("usuario");
+        request.setPassword("password");
+
+        AuthUser user = new AuthUser();
+        user.setUserName("usuario");
+        user.setPassword("encoded");
+
+        when(userNameFilter.mightExist("usuario")).thenReturn(true);
+        when(userRepository.findByUserName("usuario")).thenReturn(Mono.just(user));
+        when(loginAttemptTracker.reserve("usuario", CLIENT_IP)).thenReturn(Duration.ofSeconds(4));
+
+        // Act & Assert
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                .expectErrorSatisfies(e -> assertEquals(Duration.ofSeconds(4), ((LoginThrottledException) e).getRetryAfter()))
+                .verify();
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+        verify(loginAttemptTracker, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void login_whenHashIsOutdated_shouldRehashPassword() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("usuario");
+        request.setPassword("password");
+
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setPassword("legacy");
+        user.setRole("ADMIN");
+
+        when(userNameFilter.mightExist("usuario")).thenReturn(true);
+        when(loginAttemptTracker.reserve("usuario", CLIENT_IP)).thenReturn(Duration.ZERO);
+        when(userRepository.findByUserName("usuario")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("password", "legacy")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("legacy")).thenReturn(true);
+        when(passwordHasher.encode("password")).thenReturn(Mono.just("{bcrypt}nuevo"));
+        when(userRepository.updatePassword(1, "legacy", "{bcrypt}nuevo")).thenReturn(Mono.just(1));
+        when(userEmpresaRepository.findByUserId(1)).thenReturn(Flux.empty());
+        when(empresaCache.getAll(List.of())).thenReturn(Mono.just(List.of()));
+
+        // Act
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        // Assert
+        verify(userRepository).updatePassword(1, "legacy", "{bcrypt}nuevo");
+    }
+
+    @Test
+    void login_whenRehashIsPending_shouldNotWaitForIt() {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUserName("usuario");
+        request.setPassword("password");
+
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setPassword("legacy");
+        user.setRole("ADMIN");
+
+        when(userNameFilter.mightExist("usuario")).thenReturn(true);
+        when(loginAttemptTracker.reserve("usuario", CLIENT_IP)).thenReturn(Duration.ZERO);
+        when(userRepository.findByUserName("usuario")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("password", "legacy")).thenReturn(Mono.just(true));
+        when(passwordHasher.needsRehash("legacy")).thenReturn(true);
+        when(passwordHasher.encode("password")).thenReturn(Mono.never());
+        when(userEmpresaRepository.findByUserId(1)).thenReturn(Flux.empty());
+        when(empresaCache.getAll(List.of())).thenReturn(Mono.just(List.of()));
+
+        // Act & Assert: el hash nuevo aún no está calculado y el login ya ha respondido
+        StepVerifier.create(authenticationService.login(request, CLIENT_IP))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(userRepository, never()).updatePassword(anyInt(), anyString(), anyString());
+    }
+
+    @Test
+    void validateTokens_shouldReturnOneResultPerTokenInRequestOrder() {
+        // Arrange
+        List<String> tokens = IntStream.range(0, 100).mapToObj(i -> "token-" + i).toList();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (i % 10 == 0) {
+                when(jwtProvider.parse(token)).thenThrow(new InvalidTokenException("Token expirado"));
+            } else if (i % 10 == 1) {
+                when(jwtProvider.parse(token)).thenReturn(new TokenClaims(
+                        i, "usuario", "ADMIN", null, TokenType.REFRESH, Instant.now().plusSeconds(60), "jti-" + i));
+            } else {
+                when(jwtProvider.parse(token)).thenReturn(new TokenClaims(
+                        i, "usuario", "ADMIN", 3, TokenType.ACCESS, Instant.now().plusSeconds(60), "jti-" + i));
+            }
+        }
+
+        // Act
+        StepVerifier.create(authenticationService.validateTokens(tokens))
+                // Assert
+                .assertNext(response -> {
+                    List<TokenValidationResult> results = response.getResults();
+                    assertEquals(tokens.size(), results.size());
+                    for (int i = 0; i < results.size(); i++) {
+                        TokenValidationResult result = results.get(i);
+                        if (i % 10 == 0) {
+                            assertFalse(result.isValid());
+                            assertEquals("Token expirado", result.getReason());
+                        } else if (i % 10 == 1) {
+                            assertFalse(result.isValid());
+                            assertNull(result.getUserId());
+                        } else {
+                            assertTrue(result.isValid());
+                            assertEquals(i, result.getUserId());
+                            assertEquals(3, result.getEmpresaId());
+                        }
+                    }
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void validateTokens_whenTokenIsRevoked_shouldConfirmOnlyFilterHitsWithRedis() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(jwtProvider.parse("revocado")).thenReturn(new TokenClaims(
+                1, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-revocado"));
+        when(jwtProvider.parse("falso-positivo")).thenReturn(new TokenClaims(
+                2, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-falso-positivo"));
+        when(jwtProvider.parse("vigente")).thenReturn(new TokenClaims(
+                3, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-vigente"));
+        when(tokenDenylist.mightBeRevoked("jti-revocado")).thenReturn(true);
+        when(tokenDenylist.mightBeRevoked("jti-falso-positivo")).thenReturn(true);
+        when(tokenDenylist.isRevoked("jti-revocado")).thenReturn(Mono.just(true));
+        when(tokenDenylist.isRevoked("jti-falso-positivo")).thenReturn(Mono.just(false));
+
+        // Act
+        StepVerifier.create(authenticationService.validateTokens(List.of("revocado", "falso-positivo", "vigente")))
+                // Assert
+                .assertNext(response -> {
+                    List<TokenValidationResult> results = response.getResults();
+                    assertFalse(results.get(0).isValid());
+                    assertEquals("Token revocado", results.get(0).getReason());
+                    assertTrue(results.get(1).isValid());
+                    assertTrue(results.get(2).isValid());
+                })
+                .verifyComplete();
+        verify(tokenDenylist, never()).isRevoked("jti-vigente");
+    }
+
+    @Test
+    void introspect_shouldReturnClaimsOnlyForActiveTokens() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(jwtProvider.parse("vigente")).thenReturn(new TokenClaims(
+                7, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-vigente"));
+        when(jwtProvider.parse("revocado")).thenReturn(new TokenClaims(
+                7, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-revocado"));
+        when(tokenDenylist.mightBeRevoked("jti-vigente")).thenReturn(false);
+        when(tokenDenylist.mightBeRevoked("jti-revocado")).thenReturn(true);
+        when(tokenDenylist.isRevoked("jti-revocado")).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(authenticationService.introspect("vigente"))
+                .assertNext(response -> {
+                    assertTrue(response.isActive());
+                    assertEquals("usuario", response.getSub());
+                    assertEquals(7, response.getUserId());
+                    assertEquals("ADMIN", response.getRole());
+                    assertEquals(3, response.getEmpresaId());
+                    assertEquals(expiresAt.getEpochSecond(), response.getExp());
+                })
+                .verifyComplete();
+        StepVerifier.create(authenticationService.introspect("revocado"))
+                .expectNext(TokenIntrospectionResponse.inactive())
+                .verifyComplete();
+    }
+
+    @Test
+    void logout_shouldRevokeAccessAndRefreshTokens() {
+        // Arrange
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(jwtProvider.parse("acceso")).thenReturn(new TokenClaims(
+                1, "usuario", "ADMIN", 3, TokenType.ACCESS, expiresAt, "jti-acceso"));
+        when(jwtProvider.parse("refresco")).thenReturn(new TokenClaims(
+                1, "usuario", "ADMIN", null, TokenType.REFRESH, expiresAt, "jti-refresco"));
+        when(tokenDenylist.revoke(anyString(), any())).thenReturn(Mono.empty());
+
+        // Act
+        StepVerifier.create(authenticationService.logout("acceso", "refresco"))
+                .verifyComplete();
+
+        // Assert
+        verify(tokenDenylist).revoke("jti-acceso", expiresAt);
+        verify(tokenDenylist).revoke("jti-refresco", expiresAt);
+    }
+
+    @Test
+    void validateTokens_whenEmpty_shouldReturnValidationError() {
+        StepVerifier.create(authenticationService.validateTokens(List.of()))
+                .expectError(ValidationException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,150 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.config.BulkImportProperties;
+import com.dliriotech.tms.authservice.config.PasswordHashingProperties;
+import com.dliriotech.tms.authservice.config.ReadReplicaProperties;
+import com.dliriotech.tms.authservice.dto.BulkRegisterRequest;
+import com.dliriotech.tms.authservice.dto.BulkRegisterResult;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.routing.ReplicaRouting;
+import com.dliriotech.tms.authservice.security.password.PasswordHasher;
+import com.dliriotech.tms.authservice.service.impl.UserServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica contra H2 la importación masiva: inserción por lotes, reintento fila a fila ante usuarios repetidos
+ * y resultados en el orden de la solicitud.
+ */
+@DataR2dbcTest
+@ActiveProfiles("test")
+class BulkRegisterTest {
+
+    @Autowired
+    private AuthUserRepository userRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Test
+    void registerAll_shouldInsertInBatchesAndReportRejectedRowsInOrder() {
+        // Arrange
+        databaseClient.sql("INSERT INTO auth_user (user_name, password, role, name, last_name) " +
+                        "VALUES ('bulk-existente', 'encoded', 'ADMIN', 'Nombre', 'Apellido')")
+                .then()
+                .block();
+
+        BulkImportProperties properties = new BulkImportProperties();
+        properties.setBatchSize(2);
+        properties.setBatchTimeout(Duration.ofMinutes(1));
+        UserService userService = userService(properties);
+
+        // Act: lotes [1, 2], [3, 4] y [5]; el segundo y el tercero chocan con la restricción UNIQUE
+        List<BulkRegisterResult> results = userService.registerAll(Flux.just(
+                        row("bulk-conductor1", List.of(1, 2)),
+                        row("bulk-sinclave", null),
+                        row("bulk-existente", null),
+                        row("bulk-conductor2", List.of(1)),
+                        row("bulk-conductor1", null)))
+                .collectList()
+                .block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(BulkRegisterResult::getLine).toList());
+        assertEquals(List.of(201, 400, 409, 201, 409), results.stream().map(BulkRegisterResult::getStatus).toList());
+        assertEquals("AUTH-004", results.get(2).getCode());
+        assertNotNull(results.get(3).getId());
+        assertEquals(2L, countMemberships(results.get(0).getId()));
+        assertEquals(1L, countMemberships(results.get(3).getId()));
+        assertEquals(3L, databaseClient.sql("SELECT COUNT(*) AS total FROM auth_user WHERE user_name LIKE 'bulk-%'")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block());
+    }
+
+    @Test
+    void registerAll_afterMaxRows_shouldRejectTheFirstExtraRowAndStopReading() {
+        // Arrange
+        BulkImportProperties properties = new BulkImportProperties();
+        properties.setMaxRows(2);
+        properties.setBatchTimeout(Duration.ofMinutes(1));
+        UserService userService = userService(properties);
+        List<String> read = new ArrayList<>();
+
+        // Act
+        List<BulkRegisterResult> results = userService.registerAll(Flux.just(
+                                row("limite-1", null), row("limite-2", null), row("limite-3", null), row("limite-4", null))
+                        .doOnNext(request -> read.add(request.getUserName())))
+                .collectList()
+                .block();
+
+        // Assert
+        assertNotNull(results);
+        assertEquals(List.of(201, 201, 400), results.stream().map(BulkRegisterResult::getStatus).toList());
+        assertEquals(List.of("limite-1", "limite-2", "limite-3"), read);
+        assertEquals(2L, databaseClient.sql("SELECT COUNT(*) AS total FROM auth_user WHERE user_name LIKE 'limite-%'")
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block());
+    }
+
+    private UserService userService(BulkImportProperties properties) {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        UserNameFilter userNameFilter = mock(UserNameFilter.class);
+        when(userNameFilter.add(anyString())).thenReturn(Mono.empty());
+        return new UserServiceImpl(userRepository,
+                new PasswordHasher(passwordEncoder, new PasswordHashingProperties(), new SimpleMeterRegistry()),
+                userNameFilter, new StageTimers(new SimpleMeterRegistry()),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)), properties,
+                new ReplicaRouting(new ReadReplicaProperties()));
+    }
+
+    private Long countMemberships(Integer userId) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM user_empresas WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+
+    private static BulkRegisterRequest row(String userName, List<Integer> empresaIds) {
+        BulkRegisterRequest request = new BulkRegisterRequest();
+        request.setUserName(userName);
+        request.setPassword("bulk-sinclave".equals(userName) ? null : "password");
+        request.setRole("CONDUCTOR");
+        request.setName("Nombre");
+        request.setLastName("Apellido");
+        request.setPhoneNumber("987654321");
+        request.setEmpresaIds(empresaIds);
+        return request;
+    }
+}
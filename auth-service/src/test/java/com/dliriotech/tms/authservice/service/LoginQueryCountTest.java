@@ -0,0 +1,173 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authservice.cache.CacheInvalidationBus;
+import com.dliriotech.tms.authservice.cache.EmpresaCache;
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserNameFilter;
+import com.dliriotech.tms.authservice.cache.impl.CaffeineEmpresaCache;
+import com.dliriotech.tms.authservice.config.EmpresaCacheProperties;
+import com.dliriotech.tms.authservice.config.PasswordHashingProperties;
+import com.dliriotech.tms.authservice.dto.LoginRequest;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.repository.AuthUserRepository;
+import com.dliriotech.tms.authservice.repository.EmpresaRepository;
+import com.dliriotech.tms.authservice.repository.UserEmpresaRepository;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.security.throttle.LoginAttemptTracker;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenGenerator;
+import com.dliriotech.tms.authservice.security.jwt.JwtKeySet;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import com.dliriotech.tms.authservice.security.password.PasswordHasher;
+import com.dliriotech.tms.authservice.service.impl.AuthenticationServiceImpl;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.proxy.ProxyConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica contra H2 que el login ejecuta un número fijo de consultas, sin importar cuántas empresas tenga el usuario,
+ * y que con la caché de empresas caliente no se consulta la tabla de empresas.
+ */
+@DataR2dbcTest
+@ActiveProfiles("test")
+class LoginQueryCountTest {
+
+    private static final List<String> QUERIES = new CopyOnWriteArrayList<>();
+    private static final Pattern EMPRESA_QUERY = Pattern.compile("\\bFROM empresas\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private AuthUserRepository userRepository;
+
+    @Autowired
+    private UserEmpresaRepository userEmpresaRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @TestConfiguration
+    static class QueryCountingConfig {
+
+        @Bean
+        static BeanPostProcessor queryCountingConnectionFactory() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof ConnectionFactory connectionFactory) {
+                        return ProxyConnectionFactory.builder(connectionFactory)
+                                .onAfterQuery(execution -> execution.getQueries()
+                                        .forEach(query -> QUERIES.add(query.getQuery())))
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 30})
+    void login_shouldRunFixedQueriesRegardlessOfMembershipCount(int empresas) {
+        // Arrange
+        String userName = "usuario" + empresas;
+        Integer userId = databaseClient.sql("INSERT INTO auth_user (user_name, password, role, name, last_name) " +
+                        "VALUES (:userName, 'encoded', 'ADMIN', 'Nombre', 'Apellido')")
+                .bind("userName", userName)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .block();
+        Flux.range(0, empresas)
+                .concatMap(i -> databaseClient.sql("INSERT INTO empresas (nombre, email) VALUES (:nombre, 'e@correo.com')")
+                        .bind("nombre", "Empresa " + i)
+                        .filter(statement -> statement.returnGeneratedValues("id"))
+                        .map(row -> row.get("id", Integer.class))
+                        .one())
+                .concatMap(empresaId -> databaseClient.sql("INSERT INTO user_empresas (user_id, empresa_id) VALUES (:userId, :empresaId)")
+                        .bind("userId", userId)
+                        .bind("empresaId", empresaId)
+                        .then())
+                .blockLast();
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches("password", "encoded")).thenReturn(true);
+        PasswordHasher passwordHasher = new PasswordHasher(passwordEncoder,
+                new PasswordHashingProperties(), new SimpleMeterRegistry());
+        SessionTokenCache sessionTokenCache = mock(SessionTokenCache.class);
+        when(sessionTokenCache.store(anyString(), anyInt(), any())).thenReturn(Mono.just(true));
+
+        JwtProvider jwtProvider = new JwtProvider(JwtKeySet.hmac(Keys.hmacShaKeyFor(
+                "claveSecretaParaPruebasDeAlMenos32Caracteres".getBytes(StandardCharsets.UTF_8))));
+        ReflectionTestUtils.setField(jwtProvider, "expirationMs", 3600000L);
+        ReflectionTestUtils.setField(jwtProvider, "refreshExpirationMs", 86400000L);
+
+        EmpresaCache empresaCache = new CaffeineEmpresaCache(empresaRepository,
+                mock(CacheInvalidationBus.class), new EmpresaCacheProperties(), new SimpleMeterRegistry());
+
+        UserNameFilter userNameFilter = mock(UserNameFilter.class);
+        when(userNameFilter.mightExist(userName)).thenReturn(true);
+        LoginAttemptTracker loginAttemptTracker = mock(LoginAttemptTracker.class);
+        when(loginAttemptTracker.reserve(anyString(), anyString())).thenReturn(Duration.ZERO);
+
+        AuthenticationService authenticationService = new AuthenticationServiceImpl(
+                userRepository, userEmpresaRepository, empresaCache, mock(MembershipCache.class),
+                passwordHasher, jwtProvider, sessionTokenCache, new SessionTokenGenerator(), Schedulers.immediate(),
+                mock(TokenDenylist.class), userNameFilter, loginAttemptTracker,
+                new StageTimers(new SimpleMeterRegistry()));
+
+        LoginRequest request = new LoginRequest();
+        request.setUserName(userName);
+        request.setPassword("password");
+
+        // Act: primer login con la caché fría
+        QUERIES.clear();
+        StepVerifier.create(authenticationService.login(request, "10.0.0.1"))
+                .expectNextMatches(response -> response.getEmpresas().size() == empresas)
+                .verifyComplete();
+
+        // Assert: usuario, membresías y una sola carga de empresas
+        assertEquals(3, QUERIES.size(), QUERIES::toString);
+
+        // Act: segundo login con la caché caliente
+        QUERIES.clear();
+        StepVerifier.create(authenticationService.login(request, "10.0.0.1"))
+                .expectNextMatches(response -> response.getEmpresas().size() == empresas)
+                .verifyComplete();
+
+        // Assert: usuario y membresías, sin consultas a empresas
+        assertEquals(2, QUERIES.size(), QUERIES::toString);
+        assertTrue(QUERIES.stream().noneMatch(query -> EMPRESA_QUERY.matcher(query).find()), QUERIES::toString);
+    }
+}
@@ -0,0 +1,75 @@
+package com.dliriotech.tms.authservice.service;
+
+import com.dliriotech.tms.authservice.cache.MembershipCache;
+import com.dliriotech.tms.authservice.cache.UserMemberships;
+import com.dliriotech.tms.authservice.entity.AuthUser;
+import com.dliriotech.tms.authservice.exception.UnauthorizedException;
+import com.dliriotech.tms.authservice.metrics.StageTimers;
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import com.dliriotech.tms.authservice.security.jwt.JwtProvider;
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import com.dliriotech.tms.authservice.service.impl.TokenServiceImpl;
+import com.dliriotech.tms.authservice.support.InMemorySessionTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenServiceImplTest {
+
+    private final SessionTokenCache sessionTokenCache = new InMemorySessionTokenCache();
+    private final MembershipCache membershipCache = mock(MembershipCache.class);
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+    private final TokenServiceImpl tokenService =
+            new TokenServiceImpl(membershipCache, jwtProvider, sessionTokenCache, Schedulers.immediate(),
+                    mock(TokenDenylist.class), new StageTimers(new SimpleMeterRegistry()));
+
+    @Test
+    void generateToken_whenSessionTokenIsRedeemedConcurrently_shouldIssueTokensOnlyOnce() {
+        // Arrange
+        AuthUser user = new AuthUser();
+        user.setId(1);
+        user.setUserName("usuario");
+        user.setRole("ADMIN");
+        sessionTokenCache.store("sesion", 1, Duration.ofMinutes(5)).block();
+        when(membershipCache.get(1, 7)).thenReturn(Mono.just(UserMemberships.of(user, List.of(7, 8))));
+        when(jwtProvider.createTokenWithEmpresa(any(), eq(7))).thenReturn("token");
+        when(jwtProvider.createRefreshToken(any())).thenReturn("refresh");
+
+        // Act
+        Flux<Boolean> results = Flux.range(0, 16)
+                .flatMap(i -> tokenService.generateToken(1, 7, "sesion")
+                        .map(response -> true)
+                        .onErrorResume(UnauthorizedException.class, e -> Mono.just(false))
+                        .subscribeOn(Schedulers.parallel()));
+
+        // Assert
+        StepVerifier.create(results.filter(Boolean::booleanValue).count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void generateToken_whenSessionTokenBelongsToAnotherUser_shouldKeepTokenAndReturnError() {
+        // Arrange
+        sessionTokenCache.store("sesion", 1, Duration.ofMinutes(5)).block();
+
+        // Act & Assert
+        StepVerifier.create(tokenService.generateToken(2, 7, "sesion"))
+                .expectError(UnauthorizedException.class)
+                .verify();
+        StepVerifier.create(sessionTokenCache.validate("sesion", 1))
+                .expectNext(true)
+                .verifyComplete();
+    }
+}
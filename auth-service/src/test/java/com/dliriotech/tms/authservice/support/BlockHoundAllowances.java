@@ -0,0 +1,18 @@
+package com.dliriotech.tms.authservice.support;
+
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+/**
+ * Excepciones del proyecto a BlockHound, registradas vía META-INF/services.
+ */
+public class BlockHoundAllowances implements BlockHoundIntegration {
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        // Encolar en el pool de hashing (Schedulers.fromExecutorService) toma brevemente el lock de la cola acotada;
+        // el trabajo bloqueante en sí se ejecuta en los hilos password-hash
+        builder.allowBlockingCallsInside(
+                "reactor.core.scheduler.DelegateServiceScheduler$UnsupportedScheduledExecutorService", "submit");
+    }
+}
@@ -0,0 +1,44 @@
+package com.dliriotech.tms.authservice.support;
+
+import com.dliriotech.tms.authservice.security.cache.SessionTokenCache;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sustituto en memoria de RedisSessionTokenCache para las pruebas que levantan la aplicación sin Redis.
+ */
+public class InMemorySessionTokenCache implements SessionTokenCache {
+
+    private final Map<String, Entry> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Boolean> store(String sessionToken, Integer userId, Duration ttl) {
+        tokens.put(sessionToken, new Entry(userId, System.nanoTime() + ttl.toNanos()));
+        return Mono.just(true);
+    }
+
+    @Override
+    public Mono<Boolean> validate(String sessionToken, Integer userId) {
+        Entry entry = tokens.get(sessionToken);
+        return Mono.just(entry != null && entry.expiresAtNanos() - System.nanoTime() > 0 && entry.userId().equals(userId));
+    }
+
+    @Override
+    public Mono<Boolean> remove(String sessionToken) {
+        return Mono.just(tokens.remove(sessionToken) != null);
+    }
+
+    @Override
+    public Mono<Boolean> consume(String sessionToken, Integer userId) {
+        Entry entry = tokens.get(sessionToken);
+        boolean valid = entry != null && entry.expiresAtNanos() - System.nanoTime() > 0 && entry.userId().equals(userId);
+        // remove(key, value) solo elimina si nadie lo ha canjeado antes
+        return Mono.just(valid && tokens.remove(sessionToken, entry));
+    }
+
+    private record Entry(Integer userId, long expiresAtNanos) {
+    }
+}
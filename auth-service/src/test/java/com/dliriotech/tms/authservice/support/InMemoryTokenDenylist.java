@@ -0,0 +1,34 @@
+package com.dliriotech.tms.authservice.support;
+
+import com.dliriotech.tms.authservice.security.revocation.TokenDenylist;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sustituto en memoria de RedisTokenDenylist para las pruebas que levantan la aplicación sin Redis; sin Redis,
+ * la lista real rechaza todos los tokens porque no puede cargar su filtro.
+ */
+public class InMemoryTokenDenylist implements TokenDenylist {
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> revoke(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        return Mono.empty();
+    }
+
+    @Override
+    public boolean mightBeRevoked(String tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Override
+    public Mono<Boolean> isRevoked(String tokenId) {
+        Instant expiresAt = tokenId == null ? null : revoked.get(tokenId);
+        return Mono.just(expiresAt != null && expiresAt.isAfter(Instant.now()));
+    }
+}
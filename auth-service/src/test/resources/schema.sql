@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS auth_user (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_name VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(50) NOT NULL,
+    name VARCHAR(100),
+    last_name VARCHAR(100),
+    phone_number VARCHAR(20),
+    email VARCHAR(150)
+);
+
+CREATE TABLE IF NOT EXISTS empresas (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(150) NOT NULL,
+    email VARCHAR(150)
+);
+
+CREATE TABLE IF NOT EXISTS user_empresas (
+    user_id INT NOT NULL,
+    empresa_id INT NOT NULL,
+    PRIMARY KEY (user_id, empresa_id)
+);
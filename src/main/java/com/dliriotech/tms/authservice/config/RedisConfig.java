@@ -1,28 +0,0 @@
-package com.dliriotech.tms.authservice.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializationContext;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
-
-@Configuration
-public class RedisConfig {
-
-    @Bean
-    public ReactiveRedisTemplate<String, Integer> reactiveRedisTemplate(ReactiveRedisConnectionFactory factory) {
-        StringRedisSerializer keySerializer = new StringRedisSerializer();
-        Jackson2JsonRedisSerializer<Integer> valueSerializer = new Jackson2JsonRedisSerializer<>(Integer.class);
-
-        RedisSerializationContext.RedisSerializationContextBuilder<String, Integer> builder =
-                RedisSerializationContext.newSerializationContext(keySerializer);
-
-        RedisSerializationContext<String, Integer> context = builder
-                .value(valueSerializer)
-                .build();
-
-        return new ReactiveRedisTemplate<>(factory, context);
-    }
-}
\ No newline at end of file
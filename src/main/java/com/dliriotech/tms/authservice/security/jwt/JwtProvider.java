@@ -1,114 +0,0 @@
-package com.dliriotech.tms.authservice.security.jwt;
-
-import com.dliriotech.tms.authservice.entity.AuthUser;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Component;
-
-import java.security.Key;
-import java.util.Date;
-
-@Component
-public class JwtProvider {
-
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private long expirationMs;
-
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpirationMs;
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
-    }
-
-    public String createTokenWithEmpresa(AuthUser user, Integer empresaId) {
-        var now = new Date();
-        var expiryDate = new Date(now.getTime() + expirationMs);
-
-        return Jwts.builder()
-                .setSubject(user.getUserName())
-                .claim("id", user.getId())
-                .claim("role", user.getRole())
-                .claim("id_empresa", empresaId)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public String createRefreshToken(AuthUser user) {
-        var now = new Date();
-        var expiryDate = new Date(now.getTime() + refreshExpirationMs);
-
-        return Jwts.builder()
-                .setSubject(user.getUserName())
-                .claim("id", user.getId())
-                .claim("role", user.getRole())
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public boolean validate(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public Integer getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("id", Integer.class);
-    }
-
-    public Integer getEmpresaIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("id_empresa", Integer.class);
-    }
-
-    public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("role", String.class);
-    }
-
-    public boolean hasEmpresaClaim(String token) {
-        try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.containsKey("id_empresa");
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public boolean isRefreshToken(String token) {
-        return validate(token) && !hasEmpresaClaim(token);
-    }
-}
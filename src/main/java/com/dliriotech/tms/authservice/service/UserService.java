@@ -1,9 +0,0 @@
-package com.dliriotech.tms.authservice.service;
-
-import com.dliriotech.tms.authservice.dto.RegisterRequest;
-import com.dliriotech.tms.authservice.dto.UserResponse;
-import reactor.core.publisher.Mono;
-
-public interface UserService {
-    Mono<UserResponse> register(RegisterRequest request);
-}
\ No newline at end of file